@@ -0,0 +1,69 @@
+package com.feng.module.benchmark;
+
+import com.feng.module.task.core.TaskExecutor;
+import com.feng.module.task.model.TaskResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * executeTasks在不同任务数量下的分发开销(任务本身为空计算)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteTasksBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int size;
+
+    private ExecutorService threadPool;
+    private List<TaskExecutor<Integer>> tasks;
+
+    @Setup
+    public void setup() {
+        threadPool = Executors.newFixedThreadPool(4);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(TaskExecutor.init(ExecuteTasksBenchmark::identity, i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    /**
+     * 基准:在当前线程中顺序执行
+     */
+    @Benchmark
+    public int sequential() {
+        int sum = 0;
+        for (TaskExecutor<Integer> task : tasks) {
+            sum += task.execute();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<TaskResult<Integer>> executeTasks() {
+        return TaskExecutor.executeTasks(tasks, threadPool);
+    }
+
+    @Benchmark
+    public List<TaskResult<Integer>> executeTasksInBatch() {
+        return TaskExecutor.executeTasksInBatch(tasks, threadPool, 4, 64);
+    }
+
+    private static Integer identity(Integer value) {
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.feng.module.benchmark;
+
+import com.feng.module.task.core.TaskExecutor;
+import com.feng.module.task.core.TaskShardedExecutor;
+import com.feng.module.task.model.TaskResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程同时提交时,分片任务执行器与单队列线程池(与BindingTaskConfig相同的ArrayBlockingQueue+CallerRunsPolicy)的吞吐量
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ShardedExecutorBenchmark {
+
+    @Param({"threadPool", "sharded"})
+    private String executor;
+
+    @Param({"1", "10"})
+    private int size;
+
+    private ExecutorService threadPool;
+    private List<TaskExecutor<Integer>> tasks;
+
+    @Setup
+    public void setup() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if ("sharded".equals(executor)) {
+            threadPool = TaskShardedExecutor.init(parallelism, 1024);
+        } else {
+            threadPool = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(1024 * parallelism), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(TaskExecutor.init(ShardedExecutorBenchmark::identity, i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<TaskResult<Integer>> executeTasks() {
+        return TaskExecutor.executeTasks(tasks, threadPool);
+    }
+
+    private static Integer identity(Integer value) {
+        return value;
+    }
+}
@@ -0,0 +1,68 @@
+package com.feng.module.benchmark;
+
+import com.feng.module.binding.annotation.TaskBinding;
+import com.feng.module.binding.annotation.TaskHandler;
+import com.feng.module.binding.core.TaskBindingPoll;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskBindingPoll.getTaskBindingGroup在多线程并发下的查找开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TaskBindingPollBenchmark {
+
+    private static final int FUNCTION_COUNT = 128;
+
+    private String[] functions;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        Handlers handlers = new Handlers();
+        Method method = Handlers.class.getMethod("handle", String.class);
+        TaskBinding taskBinding = Handlers.class.getAnnotation(TaskBinding.class);
+        functions = new String[FUNCTION_COUNT];
+        for (int i = 0; i < FUNCTION_COUNT; i++) {
+            functions[i] = "function" + i;
+            TaskBindingPoll.getInstance().setTaskBinding(taskBinding, taskHandler(functions[i]), method, handlers, "handlers");
+        }
+    }
+
+    @Benchmark
+    public Set<TaskBindingPoll.TaskBindingData> getTaskBindingGroup() {
+        String function = functions[ThreadLocalRandom.current().nextInt(FUNCTION_COUNT)];
+        return TaskBindingPoll.getInstance().getTaskBindingGroup("benchmark", "poll", function);
+    }
+
+    private static TaskHandler taskHandler(String function) {
+        return new TaskHandler() {
+            @Override
+            public String function() {
+                return function;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return TaskHandler.class;
+            }
+        };
+    }
+
+    @TaskBinding(service = "benchmark", module = "poll")
+    public static class Handlers {
+        public String handle(String value) {
+            return value;
+        }
+    }
+}
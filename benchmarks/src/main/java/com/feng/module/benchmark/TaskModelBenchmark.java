@@ -0,0 +1,105 @@
+package com.feng.module.benchmark;
+
+import com.feng.module.task.core.TaskExecutor;
+import com.feng.module.task.core.TaskGenerate;
+import com.feng.module.task.model.TaskModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskModel.execute 与直接调用、反射调用的性能对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskModelBenchmark {
+
+    private Target target;
+    private Method method;
+    private Object[] args;
+    private TaskModel<Integer> taskModel;
+    private TaskExecutor<Integer> taskExecutor;
+    private TaskGenerate<Integer> taskGenerate;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        target = new Target();
+        method = Target.class.getDeclaredMethod("add", Integer.class, Integer.class);
+        method.setAccessible(true);
+        args = new Object[]{1, 2};
+        taskModel = TaskModel.init(target, method, args);
+        taskExecutor = TaskExecutor.init(target, method, args);
+        taskGenerate = TaskGenerate.init(target, method);
+    }
+
+    @Benchmark
+    public Integer directCall() {
+        return target.add((Integer) args[0], (Integer) args[1]);
+    }
+
+    /**
+     * 反射调用(可访问性只设置一次)
+     */
+    @Benchmark
+    public Object reflectiveCall() throws Exception {
+        return method.invoke(target, args);
+    }
+
+    /**
+     * 旧版执行路径:每次执行都校验、设置可访问性并反射调用
+     */
+    @Benchmark
+    public Object legacyReflectiveCall() throws Exception {
+        if (!method.getDeclaringClass().isAssignableFrom(target.getClass()) && !Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException();
+        }
+        if (method.getParameterCount() != args.length) {
+            throw new IllegalArgumentException();
+        }
+        method.setAccessible(true);
+        return method.invoke(target, args);
+    }
+
+    @Benchmark
+    public Integer taskModelExecute() {
+        return taskModel.execute();
+    }
+
+    @Benchmark
+    public Integer taskExecutorExecute() {
+        return taskExecutor.execute();
+    }
+
+    /**
+     * 复用同一个任务按固定参数个数执行,不生成新任务和参数数组
+     */
+    @Benchmark
+    public Integer taskExecutorExecuteWith() {
+        return taskExecutor.executeWith(args[0], args[1]);
+    }
+
+    @Benchmark
+    public Integer taskGenerateWithArgs() {
+        return taskGenerate.withArgs(args).execute();
+    }
+
+    /**
+     * 复用已链接的调用器直接执行,不生成TaskExecutor和参数数组
+     */
+    @Benchmark
+    public Integer taskGenerateExecute() {
+        return taskGenerate.execute(args[0], args[1]);
+    }
+
+    public static class Target {
+        public Integer add(Integer a, Integer b) {
+            return a + b;
+        }
+    }
+}
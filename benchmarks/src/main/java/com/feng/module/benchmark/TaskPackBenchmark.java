@@ -0,0 +1,59 @@
+package com.feng.module.benchmark;
+
+import com.feng.module.task.core.TaskExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过lambda封装(TaskPackWithNArgs)创建并执行任务的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskPackBenchmark {
+
+    private Target target;
+    private Integer a;
+    private Integer b;
+
+    @Setup
+    public void setup() {
+        target = new Target();
+        a = 1;
+        b = 2;
+    }
+
+    @Benchmark
+    public Integer directCall() {
+        return target.add(a, b);
+    }
+
+    @Benchmark
+    public TaskExecutor<Integer> initNoArgs() {
+        return TaskExecutor.init(target::zero);
+    }
+
+    @Benchmark
+    public TaskExecutor<Integer> init2Args() {
+        return TaskExecutor.init(target::add, a, b);
+    }
+
+    @Benchmark
+    public Integer init2ArgsAndExecute() {
+        return TaskExecutor.init(target::add, a, b).execute();
+    }
+
+    public static class Target {
+        public Integer zero() {
+            return 0;
+        }
+
+        public Integer add(Integer a, Integer b) {
+            return a + b;
+        }
+    }
+}
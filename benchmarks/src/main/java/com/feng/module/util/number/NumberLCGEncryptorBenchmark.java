@@ -0,0 +1,57 @@
+package com.feng.module.util.number;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NumberLCGEncryptor加解密吞吐量
+ * 分配速率需配合GC分析器运行:java -jar benchmarks/target/benchmarks.jar NumberLCGEncryptorBenchmark -prof gc
+ * (定义方法为包内可见,基准测试放在同一个包中)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberLCGEncryptorBenchmark {
+
+    private NumberLCGEncryptor encryptor;
+    private long target;
+    private String encrypted;
+
+    @Setup
+    public void setup() {
+        encryptor = new BenchmarkEncryptor();
+        target = 123_456_789L;
+        encrypted = encryptor.encryption(target);
+    }
+
+    @Benchmark
+    public String encryption() {
+        return encryptor.encryption(target);
+    }
+
+    @Benchmark
+    public Long decrypt() {
+        return encryptor.decrypt(encrypted);
+    }
+
+    static class BenchmarkEncryptor extends NumberLCGEncryptor {
+        @Override
+        String[] defineKeys() {
+            return new String[]{"a1", "b2", "c3", "d4", "e5", "f6", "g7", "h8", "i9", "j0", "k1", "l2", "m3", "n4", "o5", "p6"};
+        }
+
+        @Override
+        int defineMinLength() {
+            return 12;
+        }
+
+        @Override
+        long definePrefix() {
+            return 1_000_000L;
+        }
+    }
+}
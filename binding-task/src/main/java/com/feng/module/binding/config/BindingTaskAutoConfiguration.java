@@ -0,0 +1,30 @@
+package com.feng.module.binding.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 绑定任务自动配置:绑定feng.binding.pool.*和feng.binding.batch.*配置并设置到{@link BindingTaskConfig}
+ *
+ * @author zc
+ * Version 1.0
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({BindingTaskPoolProperties.class, BindingTaskBatchProperties.class})
+public class BindingTaskAutoConfiguration implements InitializingBean {
+
+    private final BindingTaskPoolProperties properties;
+    private final BindingTaskBatchProperties batchProperties;
+
+    public BindingTaskAutoConfiguration(BindingTaskPoolProperties properties, BindingTaskBatchProperties batchProperties) {
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        BindingTaskConfig.configure(properties);
+        BindingTaskConfig.configure(batchProperties);
+    }
+}
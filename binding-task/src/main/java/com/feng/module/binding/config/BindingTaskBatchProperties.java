@@ -0,0 +1,63 @@
+package com.feng.module.binding.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 绑定任务批量执行配置(feng.binding.batch.*)
+ * Spring Boot中由{@link BindingTaskAutoConfiguration}绑定;非Spring环境从同名的启动参数读取,例如:-Dfeng.binding.batch.window-ms=10
+ *
+ * @author zc
+ * Version 1.0
+ */
+@ConfigurationProperties(prefix = BindingTaskBatchProperties.PREFIX)
+public class BindingTaskBatchProperties {
+
+    public static final String PREFIX = "feng.binding.batch";
+
+    /**
+     * 收集请求的时间窗口(毫秒)
+     */
+    private long windowMs = 10;
+    /**
+     * 最大批量
+     */
+    private int maxSize = 100;
+
+    /**
+     * 从启动参数读取配置(非Spring环境使用)
+     *
+     * @return 配置
+     */
+    public static BindingTaskBatchProperties fromSystemProperties() {
+        BindingTaskBatchProperties properties = new BindingTaskBatchProperties();
+        properties.windowMs = Long.getLong(BindingTaskConfig.BATCH_WINDOW_PROPERTY, properties.windowMs);
+        properties.maxSize = Integer.getInteger(BindingTaskConfig.BATCH_MAX_SIZE_PROPERTY, properties.maxSize);
+        return properties;
+    }
+
+    /**
+     * 校验配置
+     */
+    void validate() {
+        if (windowMs < 0 || maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("[Binding-Task] Invalid batch properties. Please check:{window-ms=%d,max-size=%d}",
+                    windowMs, maxSize));
+        }
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
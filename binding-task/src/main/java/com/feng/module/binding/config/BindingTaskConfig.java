@@ -1,6 +1,10 @@
 package com.feng.module.binding.config;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import com.feng.module.task.core.TaskAdmissionExecutor;
+import com.feng.module.task.core.TaskShardedExecutor;
+import com.feng.module.task.core.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -12,16 +16,132 @@ import java.util.concurrent.TimeUnit;
  */
 public class BindingTaskConfig {
 
-    private final ThreadPoolExecutor THREAD_POOL;
+    /**
+     * 是否使用虚拟线程执行绑定任务(JDK21+生效,低版本仍使用线程池)
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = BindingTaskPoolProperties.PREFIX + ".virtual-threads";
+    /**
+     * 是否使用分片任务执行器执行绑定任务(每个工作线程一个无锁队列,适合大量线程高频提交;所有队列满时拒绝执行)
+     */
+    public static final String SHARDED_PROPERTY = BindingTaskPoolProperties.PREFIX + ".sharded";
+
+    /**
+     * 批量执行收集请求的时间窗口(毫秒)
+     */
+    public static final String BATCH_WINDOW_PROPERTY = BindingTaskBatchProperties.PREFIX + ".window-ms";
+    /**
+     * 批量执行的最大批量
+     */
+    public static final String BATCH_MAX_SIZE_PROPERTY = BindingTaskBatchProperties.PREFIX + ".max-size";
+
+    /**
+     * 线程池配置(为空时从启动参数读取),在首次使用线程池前由{@link #configure(BindingTaskPoolProperties)}设置
+     */
+    private static BindingTaskPoolProperties poolProperties;
+    private static volatile boolean initialized;
+    /**
+     * 批量执行配置(为空时从启动参数读取),由{@link #configure(BindingTaskBatchProperties)}设置
+     */
+    private static volatile BindingTaskBatchProperties batchProperties;
+
+    private final BindingTaskThreadPool THREAD_POOL;
+    private final ExecutorService EXECUTOR;
+    /**
+     * 任务是否在THREAD_POOL中执行(使用虚拟线程或分片任务执行器时不自适应调整线程数)
+     */
+    private final boolean POOLED;
+    private BindingTaskPoolTuner poolTuner;
 
     // 私有化
     private BindingTaskConfig() {
-        // TODO:改成配置
-        this.THREAD_POOL = new ThreadPoolExecutor(
-                5, 10, 60, TimeUnit.SECONDS,
-                new ArrayBlockingQueue<>(50),
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        BindingTaskPoolProperties properties;
+        synchronized (BindingTaskConfig.class) {
+            properties = poolProperties != null ? poolProperties : BindingTaskPoolProperties.fromSystemProperties();
+            properties.validate();
+            BindingTaskPoolProperties.Admission admission = properties.getAdmission();
+            // 开启准入控制时队列满直接拒绝,不在调用线程中执行;
+            // 默认不开启,线程池使用CallerRunsPolicy:同步执行时由调用线程执行,时间轮回调、完成回调和异步执行中的提交由TaskDispatcher转为拒绝失败,不在这些线程中执行
+            this.THREAD_POOL = new BindingTaskThreadPool(properties, admission.isEnabled()
+                    ? new ThreadPoolExecutor.AbortPolicy() : new ThreadPoolExecutor.CallerRunsPolicy());
+            ExecutorService executor;
+            if (properties.isVirtualThreads() && VirtualThreads.isSupported()) {
+                executor = VirtualThreads.getExecutor();
+            } else if (properties.isSharded()) {
+                executor = TaskShardedExecutor.init(properties.getMaxSize(), properties.getQueueCapacity());
+            } else {
+                executor = this.THREAD_POOL;
+            }
+            this.POOLED = executor == this.THREAD_POOL;
+            // 虚拟线程不排队,不需要准入控制
+            if (admission.isEnabled() && executor != VirtualThreads.getExecutor()) {
+                executor = TaskAdmissionExecutor.init(executor, admission.getTargetMillis(), admission.getIntervalMillis(), TimeUnit.MILLISECONDS);
+            }
+            this.EXECUTOR = executor;
+            if (this.POOLED && properties.getAdaptive().isEnabled()) {
+                this.poolTuner = BindingTaskPoolTuner.start(this.THREAD_POOL, properties);
+            }
+            initialized = true;
+        }
+    }
+
+    /**
+     * 设置线程池配置
+     * 首次使用线程池前调用时按配置创建线程池;已创建时只调整线程数、空闲存活时间和自适应调整,队列容量、执行器类型和准入控制不变
+     * 自适应调整只作用于线程池,使用虚拟线程或分片任务执行器时不开启
+     *
+     * @param properties 线程池配置
+     */
+    public static synchronized void configure(BindingTaskPoolProperties properties) {
+        properties.validate();
+        poolProperties = properties;
+        if (initialized) {
+            getInstance().resize(properties);
+        }
+    }
+
+    private void resize(BindingTaskPoolProperties properties) {
+        if (poolTuner != null) {
+            poolTuner.stop();
+            poolTuner = null;
+        }
+        // 先扩大最大线程数或先缩小核心线程数,保证核心线程数不超过最大线程数
+        if (properties.getMaxSize() >= THREAD_POOL.getMaximumPoolSize()) {
+            THREAD_POOL.setMaximumPoolSize(properties.getMaxSize());
+            THREAD_POOL.setCorePoolSize(properties.getCoreSize());
+        } else {
+            THREAD_POOL.setCorePoolSize(properties.getCoreSize());
+            THREAD_POOL.setMaximumPoolSize(properties.getMaxSize());
+        }
+        THREAD_POOL.setKeepAliveTime(properties.getKeepAliveSeconds(), TimeUnit.SECONDS);
+        if (POOLED && properties.getAdaptive().isEnabled()) {
+            poolTuner = BindingTaskPoolTuner.start(THREAD_POOL, properties);
+        }
+    }
+
+    /**
+     * 设置批量执行配置
+     * 只影响之后创建的批量执行,已创建的批量执行的时间窗口和最大批量不变
+     *
+     * @param properties 批量执行配置
+     */
+    public static synchronized void configure(BindingTaskBatchProperties properties) {
+        properties.validate();
+        batchProperties = properties;
+    }
+
+    private static BindingTaskBatchProperties getBatchProperties() {
+        BindingTaskBatchProperties properties = batchProperties;
+        if (properties == null) {
+            synchronized (BindingTaskConfig.class) {
+                if (batchProperties == null) {
+                    BindingTaskBatchProperties fromSystem = BindingTaskBatchProperties.fromSystemProperties();
+                    fromSystem.validate();
+                    batchProperties = fromSystem;
+                }
+                properties = batchProperties;
+            }
+        }
+        return properties;
     }
 
     /**
@@ -44,4 +164,33 @@ public class BindingTaskConfig {
     public static ThreadPoolExecutor getThreadPoll() {
         return getInstance().THREAD_POOL;
     }
+
+    /**
+     * 获取绑定任务的执行器
+     * 开启{@link #VIRTUAL_THREADS_PROPERTY}且JDK支持时为虚拟线程执行器,开启{@link #SHARDED_PROPERTY}时为分片任务执行器,否则为线程池;
+     * 开启准入控制时在以上执行器前增加{@link TaskAdmissionExecutor}
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService getExecutor() {
+        return getInstance().EXECUTOR;
+    }
+
+    /**
+     * 获取批量执行收集请求的时间窗口(毫秒,默认10)
+     *
+     * @return long
+     */
+    public static long getBatchWindowMillis() {
+        return getBatchProperties().getWindowMs();
+    }
+
+    /**
+     * 获取批量执行的最大批量(默认100)
+     *
+     * @return int
+     */
+    public static int getBatchMaxSize() {
+        return getBatchProperties().getMaxSize();
+    }
 }
@@ -0,0 +1,257 @@
+package com.feng.module.binding.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 绑定任务线程池配置(feng.binding.pool.*)
+ * Spring Boot中由{@link BindingTaskAutoConfiguration}绑定;非Spring环境从同名的启动参数读取,例如:-Dfeng.binding.pool.core-size=8
+ *
+ * @author zc
+ * Version 1.0
+ */
+@ConfigurationProperties(prefix = BindingTaskPoolProperties.PREFIX)
+public class BindingTaskPoolProperties {
+
+    public static final String PREFIX = "feng.binding.pool";
+
+    /**
+     * 核心线程数(开启自适应时为最小线程数)
+     */
+    private int coreSize = 5;
+    /**
+     * 最大线程数(开启自适应时为核心线程数的上限)
+     */
+    private int maxSize = 10;
+    /**
+     * 队列容量
+     */
+    private int queueCapacity = 50;
+    /**
+     * 超过核心线程数的线程空闲存活时间(秒)
+     */
+    private long keepAliveSeconds = 60;
+    /**
+     * 是否使用虚拟线程执行(JDK21+生效,低版本仍使用线程池)
+     */
+    private boolean virtualThreads;
+    /**
+     * 是否使用分片任务执行器执行
+     */
+    private boolean sharded;
+    /**
+     * 自适应调整线程数
+     */
+    private Adaptive adaptive = new Adaptive();
+    /**
+     * 准入控制
+     */
+    private Admission admission = new Admission();
+
+    /**
+     * 从启动参数读取配置(非Spring环境使用)
+     *
+     * @return 配置
+     */
+    public static BindingTaskPoolProperties fromSystemProperties() {
+        BindingTaskPoolProperties properties = new BindingTaskPoolProperties();
+        properties.coreSize = Integer.getInteger(PREFIX + ".core-size", properties.coreSize);
+        properties.maxSize = Integer.getInteger(PREFIX + ".max-size", properties.maxSize);
+        properties.queueCapacity = Integer.getInteger(PREFIX + ".queue-capacity", properties.queueCapacity);
+        properties.keepAliveSeconds = Long.getLong(PREFIX + ".keep-alive-seconds", properties.keepAliveSeconds);
+        properties.virtualThreads = Boolean.getBoolean(BindingTaskConfig.VIRTUAL_THREADS_PROPERTY);
+        properties.sharded = Boolean.getBoolean(BindingTaskConfig.SHARDED_PROPERTY);
+        Adaptive adaptive = properties.adaptive;
+        adaptive.enabled = Boolean.getBoolean(PREFIX + ".adaptive.enabled");
+        adaptive.intervalMillis = Long.getLong(PREFIX + ".adaptive.interval-millis", adaptive.intervalMillis);
+        adaptive.targetQueueWaitMillis = Long.getLong(PREFIX + ".adaptive.target-queue-wait-millis", adaptive.targetQueueWaitMillis);
+        String utilization = System.getProperty(PREFIX + ".adaptive.target-utilization");
+        if (utilization != null) {
+            adaptive.targetUtilization = Double.parseDouble(utilization);
+        }
+        Admission admission = properties.admission;
+        admission.enabled = Boolean.getBoolean(PREFIX + ".admission.enabled");
+        admission.targetMillis = Long.getLong(PREFIX + ".admission.target-millis", admission.targetMillis);
+        admission.intervalMillis = Long.getLong(PREFIX + ".admission.interval-millis", admission.intervalMillis);
+        return properties;
+    }
+
+    /**
+     * 校验配置
+     */
+    void validate() {
+        if (coreSize <= 0 || maxSize < coreSize || queueCapacity <= 0 || keepAliveSeconds < 0) {
+            throw new IllegalArgumentException(String.format("[Binding-Task] Invalid pool properties. Please check:{core-size=%d,max-size=%d,queue-capacity=%d,keep-alive-seconds=%d}",
+                    coreSize, maxSize, queueCapacity, keepAliveSeconds));
+        }
+        if (adaptive.enabled && (adaptive.intervalMillis <= 0 || adaptive.targetUtilization <= 0 || adaptive.targetUtilization > 1)) {
+            throw new IllegalArgumentException(String.format("[Binding-Task] Invalid adaptive pool properties. Please check:{interval-millis=%d,target-utilization=%s}",
+                    adaptive.intervalMillis, adaptive.targetUtilization));
+        }
+        if (admission.enabled && (admission.targetMillis <= 0 || admission.intervalMillis <= 0)) {
+            throw new IllegalArgumentException(String.format("[Binding-Task] Invalid admission properties. Please check:{target-millis=%d,interval-millis=%d}",
+                    admission.targetMillis, admission.intervalMillis));
+        }
+    }
+
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+    public void setCoreSize(int coreSize) {
+        this.coreSize = coreSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public void setSharded(boolean sharded) {
+        this.sharded = sharded;
+    }
+
+    public Adaptive getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Adaptive adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(Admission admission) {
+        this.admission = admission;
+    }
+
+    /**
+     * 自适应调整线程数配置(feng.binding.pool.adaptive.*)
+     * 按排队时间、线程利用率和任务耗时周期性地在core-size和max-size之间调整核心线程数;使用虚拟线程或分片任务执行器时不生效
+     */
+    public static class Adaptive {
+        /**
+         * 是否开启
+         */
+        private boolean enabled;
+        /**
+         * 调整周期(毫秒)
+         */
+        private long intervalMillis = 1000;
+        /**
+         * 目标排队时间(毫秒),超过时扩容
+         */
+        private long targetQueueWaitMillis = 20;
+        /**
+         * 目标线程利用率(0-1],扩容时按该利用率计算需要的线程数;利用率低于一半且没有排队时缩容
+         */
+        private double targetUtilization = 0.75;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        public long getTargetQueueWaitMillis() {
+            return targetQueueWaitMillis;
+        }
+
+        public void setTargetQueueWaitMillis(long targetQueueWaitMillis) {
+            this.targetQueueWaitMillis = targetQueueWaitMillis;
+        }
+
+        public double getTargetUtilization() {
+            return targetUtilization;
+        }
+
+        public void setTargetUtilization(double targetUtilization) {
+            this.targetUtilization = targetUtilization;
+        }
+    }
+
+    /**
+     * 准入控制配置(feng.binding.pool.admission.*)
+     * 按任务排队时间判断过载,过载时按CoDel控制律(间隔统计周期/√n)拒绝新任务并丢弃排队过久的任务,结果为REJECTED失败;开启后线程池队列满时同样拒绝,不在调用线程中执行
+     */
+    public static class Admission {
+        /**
+         * 是否开启
+         */
+        private boolean enabled;
+        /**
+         * 目标排队时间(毫秒)
+         */
+        private long targetMillis = 5;
+        /**
+         * 统计周期(毫秒)
+         */
+        private long intervalMillis = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTargetMillis() {
+            return targetMillis;
+        }
+
+        public void setTargetMillis(long targetMillis) {
+            this.targetMillis = targetMillis;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+    }
+}
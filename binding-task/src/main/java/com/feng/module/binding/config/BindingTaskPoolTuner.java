@@ -0,0 +1,120 @@
+package com.feng.module.binding.config;
+
+import com.feng.module.task.timer.HashedWheelTimer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 绑定任务线程池的自适应调整
+ * 由共享时间轮周期性触发,每个周期根据排队时间、线程利用率和任务平均耗时在core-size和max-size之间调整核心线程数:
+ * 1. 排队时间超过目标时扩容:按利特尔法则(需要的线程数=到达速率*平均耗时/目标利用率)计算,至少增加1个
+ * 2. 没有排队且利用率低于目标的一半时缩容:每个周期减少1个,多余的线程空闲超过keep-alive后退出
+ * 排队时间按利特尔法则估算(队列长度/完成速率),不为单个任务记录入队时间
+ *
+ * @author zc
+ * Version 1.0
+ */
+final class BindingTaskPoolTuner {
+
+    private final BindingTaskThreadPool threadPool;
+    private final int minSize;
+    private final int maxSize;
+    private final long intervalNanos;
+    private final long targetQueueWaitNanos;
+    private final double targetUtilization;
+
+    /**
+     * 上个周期的统计(只在时间轮线程中访问)
+     */
+    private long lastNanos;
+    private long lastCompleted;
+    private long lastBusyNanos;
+    private int lastQueued;
+    private volatile boolean stopped;
+
+    private BindingTaskPoolTuner(BindingTaskThreadPool threadPool, BindingTaskPoolProperties properties) {
+        BindingTaskPoolProperties.Adaptive adaptive = properties.getAdaptive();
+        this.threadPool = threadPool;
+        this.minSize = properties.getCoreSize();
+        this.maxSize = properties.getMaxSize();
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(adaptive.getIntervalMillis());
+        this.targetQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(adaptive.getTargetQueueWaitMillis());
+        this.targetUtilization = adaptive.getTargetUtilization();
+    }
+
+    /**
+     * 开始自适应调整
+     *
+     * @param threadPool 线程池
+     * @param properties 线程池配置
+     * @return 调整器(用于停止)
+     */
+    static BindingTaskPoolTuner start(BindingTaskThreadPool threadPool, BindingTaskPoolProperties properties) {
+        BindingTaskPoolTuner tuner = new BindingTaskPoolTuner(threadPool, properties);
+        tuner.lastNanos = System.nanoTime();
+        tuner.lastCompleted = threadPool.getCompletedTaskCount();
+        tuner.lastBusyNanos = threadPool.getBusyNanos();
+        tuner.schedule();
+        return tuner;
+    }
+
+    /**
+     * 停止调整(核心线程数保持当前值)
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    private void schedule() {
+        if (!stopped && !threadPool.isShutdown()) {
+            HashedWheelTimer.getInstance().newTimeout(this::tune, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 一个周期的调整(在时间轮线程中执行,只读取统计和修改核心线程数)
+     */
+    private void tune() {
+        if (stopped) {
+            return;
+        }
+        try {
+            int size = threadPool.getCorePoolSize();
+            int target = targetSize(size);
+            if (target != size && !stopped) {
+                threadPool.setCorePoolSize(target);
+            }
+        } finally {
+            schedule();
+        }
+    }
+
+    private int targetSize(int size) {
+        long now = System.nanoTime();
+        long completed = threadPool.getCompletedTaskCount();
+        long busyNanos = threadPool.getBusyNanos();
+        int queued = threadPool.getQueue().size();
+        long elapsed = Math.max(now - lastNanos, 1);
+        long done = completed - lastCompleted;
+        long busy = busyNanos - lastBusyNanos;
+        int lastQueued = this.lastQueued;
+        this.lastNanos = now;
+        this.lastCompleted = completed;
+        this.lastBusyNanos = busyNanos;
+        this.lastQueued = queued;
+
+        // 没有完成任务但有排队时,排队时间至少为一个周期
+        long queueWaitNanos = done == 0 ? (queued > 0 ? elapsed : 0) : queued * elapsed / done;
+        double utilization = (double) busy / (elapsed * Math.max(threadPool.getPoolSize(), 1));
+        int target = size;
+        if (queueWaitNanos > targetQueueWaitNanos) {
+            long arrivals = Math.max(done + queued - lastQueued, done);
+            long averageNanos = done == 0 ? elapsed : busy / done;
+            double needed = (double) arrivals * averageNanos / (elapsed * targetUtilization);
+            target = (int) Math.max(size + 1, Math.min(Math.ceil(needed), maxSize));
+        } else if (queued == 0 && utilization < targetUtilization / 2) {
+            target = size - 1;
+        }
+        return Math.max(minSize, Math.min(target, maxSize));
+    }
+}
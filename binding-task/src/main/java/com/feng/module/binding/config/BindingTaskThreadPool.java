@@ -0,0 +1,43 @@
+package com.feng.module.binding.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 绑定任务线程池
+ * 在线程池基础上累计任务执行时间,用于计算线程利用率和任务平均耗时
+ *
+ * @author zc
+ * Version 1.0
+ */
+class BindingTaskThreadPool extends ThreadPoolExecutor {
+
+    private static final ThreadLocal<long[]> START_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LongAdder busyNanos = new LongAdder();
+
+    BindingTaskThreadPool(BindingTaskPoolProperties properties, RejectedExecutionHandler handler) {
+        super(properties.getCoreSize(), properties.getMaxSize(), properties.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), handler);
+    }
+
+    /**
+     * 累计的任务执行时间(纳秒)
+     */
+    long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        START_NANOS.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        busyNanos.add(System.nanoTime() - START_NANOS.get()[0]);
+    }
+}
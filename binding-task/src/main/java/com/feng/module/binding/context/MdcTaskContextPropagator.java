@@ -0,0 +1,81 @@
+package com.feng.module.binding.context;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.feng.module.task.core.TaskContextPropagator;
+import org.slf4j.MDC;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+/**
+ * 日志MDC上下文传递
+ * 绑定任务在线程池中执行时保留调用线程的MDC(例如:traceId),通过META-INF/services自动注册
+ * 线程池线程的MDC通常为空:此时不保存执行线程原来的MDC,执行完成后直接清空,每个任务只在恢复时复制一次快照
+ *
+ * @author zc
+ * Version 1.0
+ */
+public class MdcTaskContextPropagator implements TaskContextPropagator {
+
+    /**
+     * 是否使用Logback的MDC实现(可以不复制地判断执行线程的MDC是否为空)
+     */
+    private static final boolean LOGBACK = ClassUtils.isPresent("ch.qos.logback.classic.util.LogbackMDCAdapter",
+            MdcTaskContextPropagator.class.getClassLoader()) && LogbackMdc.isActive();
+
+    @Override
+    public Object capture() {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return context == null || context.isEmpty() ? null : context;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object restore(Object snapshot) {
+        Map<String, String> previous = currentContext();
+        if (snapshot != null) {
+            MDC.setContextMap((Map<String, String>) snapshot);
+        } else if (previous != null) {
+            MDC.clear();
+        }
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void reset(Object previous) {
+        if (previous == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap((Map<String, String>) previous);
+        }
+    }
+
+    /**
+     * 执行线程原来的MDC
+     *
+     * @return MDC的副本,MDC为空时返回null(不复制)
+     */
+    private static Map<String, String> currentContext() {
+        if (LOGBACK && LogbackMdc.isEmpty()) {
+            return null;
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return context == null || context.isEmpty() ? null : context;
+    }
+
+    /**
+     * Logback的MDC访问(单独的类,没有Logback时不加载)
+     */
+    private static final class LogbackMdc {
+
+        private static boolean isActive() {
+            return MDC.getMDCAdapter() instanceof LogbackMDCAdapter;
+        }
+
+        private static boolean isEmpty() {
+            Map<String, String> context = ((LogbackMDCAdapter) MDC.getMDCAdapter()).getPropertyMap();
+            return context == null || context.isEmpty();
+        }
+    }
+}
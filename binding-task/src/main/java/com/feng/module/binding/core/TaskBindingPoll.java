@@ -2,6 +2,9 @@ package com.feng.module.binding.core;
 
 import com.feng.module.binding.annotation.TaskBinding;
 import com.feng.module.binding.annotation.TaskHandler;
+import com.feng.module.task.core.TaskGenerate;
+import com.feng.module.task.metrics.TaskMetrics;
+import com.feng.module.task.metrics.TaskTimer;
 
 import java.lang.reflect.Method;
 import java.util.Set;
@@ -68,13 +71,13 @@ public class TaskBindingPoll {
     }
 
     /**
-     * 安全构建MethodData，直接返回当前对象
+     * 安全构建MethodData，首次注册时链接方法(已注册的方法直接复用,不重复链接)
      *
      * @param methodData MethodData对象
      * @return methodData
      */
     private MethodData buildMethodData(MethodData methodData) {
-        return methodData;
+        return methodData.link();
     }
 
     /**
@@ -112,6 +115,10 @@ public class TaskBindingPoll {
         private final TaskHandler taskHandler;
         private final MethodData methodData;
         private final String key;
+        /**
+         * 执行统计(开启统计后第一次执行时获取,之后直接复用,不再拼接名称和查找)
+         */
+        private volatile TaskTimer timer;
 
         private TaskBindingData(TaskBinding taskBinding, TaskHandler taskHandler, MethodData methodData) {
             this.taskBinding = taskBinding;
@@ -163,6 +170,32 @@ public class TaskBindingPoll {
             return methodData.method;
         }
 
+        /**
+         * 获取已链接的方法封装器(注册时链接一次,执行时直接复用)
+         *
+         * @param <R> 任务返回类型
+         * @return TaskGenerate
+         */
+        @SuppressWarnings("unchecked")
+        public <R> TaskGenerate<R> getTaskGenerate() {
+            return (TaskGenerate<R>) methodData.taskGenerate;
+        }
+
+        /**
+         * 获取绑定任务的执行统计,名称为binding:service/module/function(同一个任务组共用)
+         *
+         * @return TaskTimer
+         */
+        public TaskTimer getTimer() {
+            TaskTimer current = timer;
+            if (current == null) {
+                current = TaskMetrics.getInstance().timer("binding:" + taskBinding.service() + "/" + taskBinding.module()
+                        + "/" + (taskHandler == null ? "" : taskHandler.function()));
+                timer = current;
+            }
+            return current;
+        }
+
         @Override
         public int hashCode() {
             return (key.hashCode() + "-" + methodData.hashCode()).hashCode();
@@ -189,6 +222,10 @@ public class TaskBindingPoll {
         private final Method method;
         private final String beanName;
         private final String methodName;
+        /**
+         * 已链接的方法封装器(放入methodDataSet前链接,作为查找key的对象不链接)
+         */
+        private TaskGenerate<Object> taskGenerate;
 
         MethodData(Object bean, Method method, String beanName) {
             this.bean = bean;
@@ -197,6 +234,16 @@ public class TaskBindingPoll {
             this.methodName = method.getName();
         }
 
+        /**
+         * 链接方法
+         *
+         * @return 当前对象
+         */
+        private MethodData link() {
+            this.taskGenerate = TaskGenerate.init(bean, method);
+            return this;
+        }
+
         @Override
         public int hashCode() {
             return (bean.hashCode() + "-" + method.hashCode()).hashCode();
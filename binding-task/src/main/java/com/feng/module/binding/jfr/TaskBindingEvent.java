@@ -0,0 +1,55 @@
+package com.feng.module.binding.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 绑定任务分发的JFR事件(持续时间为调用方从分发到获取结果的时间)
+ *
+ * @author zc
+ * Version 1.0
+ */
+@Name("com.feng.binding.Dispatch")
+@Label("Task Binding Dispatch")
+@Category({"Feng", "Task"})
+@Description("Dispatch of a bound task handler")
+@StackTrace(false)
+final class TaskBindingEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Module")
+    String module;
+
+    @Label("Function")
+    String function;
+
+    @Label("Method")
+    String method;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Execute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long executeTime;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Failure Code")
+    String failureCode;
+}
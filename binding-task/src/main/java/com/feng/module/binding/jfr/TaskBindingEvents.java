@@ -0,0 +1,122 @@
+package com.feng.module.binding.jfr;
+
+import com.feng.module.task.jfr.TaskEvents;
+import com.feng.module.task.model.TaskFailureCode;
+import com.feng.module.task.model.TaskResult;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.Method;
+
+/**
+ * 绑定任务分发的JFR事件
+ * 运行环境没有JFR(jdk.jfr)或事件未开启录制时,只有一次类型判断和一次开关读取,不创建事件对象
+ * 开启方式:java -XX:StartFlightRecording ...,事件名称为com.feng.binding.Dispatch
+ *
+ * @author zc
+ * Version 1.0
+ */
+public final class TaskBindingEvents {
+
+    public static final String EXECUTE_ALL = "executeAll";
+    public static final String EXECUTE_ONE = "executeOne";
+    public static final String EXECUTE_ONE_BATCHED = "executeOneBatched";
+
+    private static final boolean AVAILABLE = TaskEvents.isJfrAvailable();
+
+    // 私有化
+    private TaskBindingEvents() {
+    }
+
+    /**
+     * 绑定任务分发事件是否开启录制
+     */
+    public static boolean isEnabled() {
+        return AVAILABLE && Holder.isEnabled();
+    }
+
+    /**
+     * 开始分发事件(事件开启录制时调用)
+     *
+     * @param count 事件数(每个任务方法一个事件)
+     * @return 事件对象(每个传给一次commit)
+     */
+    public static Object[] begin(int count) {
+        Object[] events = new Object[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = Holder.begin();
+        }
+        return events;
+    }
+
+    /**
+     * 提交分发事件(排队时间、执行时间和执行结果取自任务结果)
+     *
+     * @param event        {@link #begin(int)}返回的事件对象
+     * @param serviceName  服务名
+     * @param moduleName   模块名
+     * @param functionName 方法名
+     * @param method       任务方法
+     * @param operation    分发方式
+     * @param taskResult   任务结果
+     */
+    public static void commit(Object event, String serviceName, String moduleName, String functionName, Method method, String operation,
+                              TaskResult<?> taskResult) {
+        TaskFailureCode failureCode = taskResult.getFailureCode();
+        Holder.commit(event, serviceName, moduleName, functionName, method, operation, taskResult.getQueueNanos(), taskResult.getExecuteNanos(), taskResult.attempts,
+                failureCode == null ? null : failureCode.name());
+    }
+
+    /**
+     * 提交分发事件(在调用线程中直接执行)
+     *
+     * @param event        {@link #begin(int)}返回的事件对象
+     * @param serviceName  服务名
+     * @param moduleName   模块名
+     * @param functionName 方法名
+     * @param method       任务方法
+     * @param operation    分发方式
+     * @param executeNanos 执行时间(纳秒)
+     * @param failure      执行失败的异常,成功传null
+     */
+    public static void commit(Object event, String serviceName, String moduleName, String functionName, Method method, String operation,
+                              long executeNanos, Throwable failure) {
+        Holder.commit(event, serviceName, moduleName, functionName, method, operation, 0, executeNanos, 1, failure == null ? null : TaskFailureCode.of(failure).name());
+    }
+
+    /**
+     * 引用JFR类型的逻辑(只在JFR可用时加载)
+     */
+    private static final class Holder {
+        private static final EventType DISPATCH = EventType.getEventType(TaskBindingEvent.class);
+
+        private static boolean isEnabled() {
+            return DISPATCH.isEnabled();
+        }
+
+        private static Object begin() {
+            TaskBindingEvent event = new TaskBindingEvent();
+            event.begin();
+            return event;
+        }
+
+        private static void commit(Object e, String serviceName, String moduleName, String functionName, Method method, String operation, long queueNanos, long executeNanos,
+                                   int attempts, String failureCode) {
+            TaskBindingEvent event = (TaskBindingEvent) e;
+            event.end();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.service = serviceName;
+            event.module = moduleName;
+            event.function = functionName;
+            event.method = TaskEvents.methodName(method);
+            event.operation = operation;
+            event.queueTime = queueNanos;
+            event.executeTime = executeNanos;
+            event.attempts = attempts;
+            event.success = failureCode == null;
+            event.failureCode = failureCode;
+            event.commit();
+        }
+    }
+}
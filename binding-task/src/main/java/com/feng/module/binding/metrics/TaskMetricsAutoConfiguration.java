@@ -0,0 +1,23 @@
+package com.feng.module.binding.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 引入Micrometer时自动注册{@link TaskMetricsMeterBinder}
+ *
+ * @author zc
+ * Version 1.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class TaskMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskMetricsMeterBinder taskMetricsMeterBinder() {
+        return new TaskMetricsMeterBinder();
+    }
+}
@@ -0,0 +1,46 @@
+package com.feng.module.binding.metrics;
+
+import com.feng.module.task.metrics.TaskMetrics;
+import com.feng.module.task.metrics.TaskTimer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务执行统计桥接到Micrometer
+ * 每个{@link TaskTimer}注册为feng.task.execution(FunctionTimer)、feng.task.failures(FunctionCounter)
+ * 和feng.task.execution.percentile(Gauge,quantile=0.5/0.99),tag name为统计名称
+ * 统计需要通过-Dfeng.task.metrics.enabled=true开启
+ *
+ * @author zc
+ * Version 1.0
+ */
+public class TaskMetricsMeterBinder implements MeterBinder {
+
+    private static final double[] QUANTILES = {0.5, 0.99};
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TaskMetrics.getInstance().addListener(timer -> register(registry, timer));
+    }
+
+    private static void register(MeterRegistry registry, TaskTimer timer) {
+        FunctionTimer.builder("feng.task.execution", timer, TaskTimer::getCount, TaskTimer::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tag("name", timer.getName())
+                .register(registry);
+        FunctionCounter.builder("feng.task.failures", timer, TaskTimer::getFailureCount)
+                .tag("name", timer.getName())
+                .register(registry);
+        for (double quantile : QUANTILES) {
+            Gauge.builder("feng.task.execution.percentile", timer, t -> t.percentile(quantile) / 1e9)
+                    .tag("name", timer.getName())
+                    .tag("quantile", String.valueOf(quantile))
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+}
@@ -63,4 +63,12 @@ public class TaskBindingResult<R> {
     public Exception getException() {
         return taskResult.exception;
     }
+
+    public int getAttempts() {
+        return taskResult.attempts;
+    }
+
+    public boolean isHedgeWin() {
+        return taskResult.hedgeWin;
+    }
 }
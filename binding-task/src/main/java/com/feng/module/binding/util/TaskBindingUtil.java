@@ -4,13 +4,26 @@ import com.feng.module.binding.annotation.TaskBinding;
 import com.feng.module.binding.annotation.TaskHandler;
 import com.feng.module.binding.config.BindingTaskConfig;
 import com.feng.module.binding.core.TaskBindingPoll;
+import com.feng.module.binding.jfr.TaskBindingEvents;
 import com.feng.module.binding.model.TaskBindingResult;
+import com.feng.module.task.core.TaskBatchLoader;
+import com.feng.module.task.core.TaskCompletionPolicy;
 import com.feng.module.task.core.TaskExecutor;
+import com.feng.module.task.core.TaskHedgePolicy;
+import com.feng.module.task.core.TaskRetryPolicy;
+import com.feng.module.task.metrics.TaskMetrics;
+import com.feng.module.task.metrics.TaskTimer;
 import com.feng.module.task.model.TaskResult;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -23,6 +36,11 @@ import java.util.stream.IntStream;
  */
 public class TaskBindingUtil {
 
+    /**
+     * 批量任务 -> 批量加载器
+     */
+    private static final ConcurrentMap<TaskBindingPoll.TaskBindingData, TaskBatchLoader<Object, Object>> BATCH_LOADERS = new ConcurrentHashMap<>();
+
     private static List<TaskBindingPoll.TaskBindingData> getTaskBindingGroup(String serviceName, String moduleName, String functionName, Boolean isOne) {
         Set<TaskBindingPoll.TaskBindingData> taskBindingGroup = TaskBindingPoll.getInstance().getTaskBindingGroup(serviceName, moduleName, functionName);
         if (taskBindingGroup == null || taskBindingGroup.isEmpty()) {
@@ -46,10 +64,87 @@ public class TaskBindingUtil {
      */
     public static <T> List<TaskBindingResult<T>> executeAll(String serviceName, String moduleName, String functionName, Object... args) {
         List<TaskBindingPoll.TaskBindingData> taskBindingGroup = getTaskBindingGroup(serviceName, moduleName, functionName, false);
-        List<TaskExecutor<T>> taskExecutors = taskBindingGroup.stream()
-                .map(taskBinding -> TaskExecutor.<T>init(taskBinding.getBean(), taskBinding.getMethod(), args))
+        Object[] events = beginEvents(taskBindingGroup.size());
+        List<TaskResult<T>> taskResults = TaskExecutor.executeTasks(buildTaskExecutors(taskBindingGroup, args), BindingTaskConfig.getExecutor());
+        return buildTaskBindingResults(serviceName, moduleName, functionName, taskBindingGroup, taskResults, events);
+    }
+
+    /**
+     * 多任务按完成策略异步执行并获取返回值
+     * 策略结果确定后取消剩余任务,被取消任务的结果为{@link java.util.concurrent.CancellationException}失败
+     *
+     * @param policy       完成策略 例如:{@link TaskCompletionPolicy#firstSuccess()}
+     * @param serviceName  {@link TaskBinding}服务名
+     * @param moduleName   {@link TaskBinding} 模块名
+     * @param functionName {@link TaskHandler} 模块名
+     * @param args         执行参数
+     * @param <T>          任务返回类型
+     * @return List<TaskBindingResult<T>>
+     */
+    public static <T> List<TaskBindingResult<T>> executeAll(TaskCompletionPolicy policy, String serviceName, String moduleName, String functionName, Object... args) {
+        List<TaskBindingPoll.TaskBindingData> taskBindingGroup = getTaskBindingGroup(serviceName, moduleName, functionName, false);
+        Object[] events = beginEvents(taskBindingGroup.size());
+        List<TaskResult<T>> taskResults = TaskExecutor.executeTasks(buildTaskExecutors(taskBindingGroup, args), BindingTaskConfig.getExecutor(), policy);
+        return buildTaskBindingResults(serviceName, moduleName, functionName, taskBindingGroup, taskResults, events);
+    }
+
+    /**
+     * 多任务异步执行,不阻塞调用线程
+     *
+     * @param serviceName  {@link TaskBinding}服务名
+     * @param moduleName   {@link TaskBinding} 模块名
+     * @param functionName {@link TaskHandler} 模块名
+     * @param args         执行参数
+     * @param <T>          任务返回类型
+     * @return CompletableFuture<List<TaskBindingResult<T>>>
+     */
+    public static <T> CompletableFuture<List<TaskBindingResult<T>>> executeAllAsync(String serviceName, String moduleName, String functionName, Object... args) {
+        List<TaskBindingPoll.TaskBindingData> taskBindingGroup = getTaskBindingGroup(serviceName, moduleName, functionName, false);
+        Object[] events = beginEvents(taskBindingGroup.size());
+        return TaskExecutor.<T>executeTasksAsync(buildTaskExecutors(taskBindingGroup, args), BindingTaskConfig.getExecutor())
+                .thenApply(taskResults -> buildTaskBindingResults(serviceName, moduleName, functionName, taskBindingGroup, taskResults, events));
+    }
+
+    /**
+     * 多任务按完成策略异步执行,不阻塞调用线程
+     *
+     * @param policy       完成策略
+     * @param serviceName  {@link TaskBinding}服务名
+     * @param moduleName   {@link TaskBinding} 模块名
+     * @param functionName {@link TaskHandler} 模块名
+     * @param args         执行参数
+     * @param <T>          任务返回类型
+     * @return CompletableFuture<List<TaskBindingResult<T>>>
+     */
+    public static <T> CompletableFuture<List<TaskBindingResult<T>>> executeAllAsync(TaskCompletionPolicy policy, String serviceName, String moduleName,
+                                                                                   String functionName, Object... args) {
+        List<TaskBindingPoll.TaskBindingData> taskBindingGroup = getTaskBindingGroup(serviceName, moduleName, functionName, false);
+        Object[] events = beginEvents(taskBindingGroup.size());
+        return TaskExecutor.<T>executeTasksAsync(buildTaskExecutors(taskBindingGroup, args), BindingTaskConfig.getExecutor(), policy)
+                .thenApply(taskResults -> buildTaskBindingResults(serviceName, moduleName, functionName, taskBindingGroup, taskResults, events));
+    }
+
+    private static <T> List<TaskExecutor<T>> buildTaskExecutors(List<TaskBindingPoll.TaskBindingData> taskBindingGroup, Object[] args) {
+        return taskBindingGroup.stream()
+                .map(taskBinding -> taskBinding.<T>getTaskGenerate().withArgs(args))
                 .collect(Collectors.toList());
-        List<TaskResult<T>> taskResults = TaskExecutor.executeTasks(taskExecutors, BindingTaskConfig.getThreadPoll());
+    }
+
+    private static <T> List<TaskBindingResult<T>> buildTaskBindingResults(String serviceName, String moduleName, String functionName,
+                                                                          List<TaskBindingPoll.TaskBindingData> taskBindingGroup, List<TaskResult<T>> taskResults,
+                                                                          Object[] events) {
+        if (events != null) {
+            for (int i = 0; i < events.length; i++) {
+                TaskBindingEvents.commit(events[i], serviceName, moduleName, functionName, taskBindingGroup.get(i).getMethod(),
+                        TaskBindingEvents.EXECUTE_ALL, taskResults.get(i));
+            }
+        }
+        if (TaskMetrics.getInstance().isEnabled()) {
+            TaskTimer timer = taskBindingGroup.get(0).getTimer();
+            for (TaskResult<T> taskResult : taskResults) {
+                timer.record(taskResult.endNanos - taskResult.submitNanos, Boolean.TRUE.equals(taskResult.success));
+            }
+        }
         return IntStream.range(0, taskBindingGroup.size()).mapToObj(i ->
                 TaskBindingResult.init(serviceName, moduleName, functionName,
                         taskBindingGroup.get(i).getBean(),
@@ -70,7 +165,103 @@ public class TaskBindingUtil {
      */
     public static <T> T executeOne(String serviceName, String moduleName, String functionName, Object... args) {
         TaskBindingPoll.TaskBindingData taskBinding = getTaskBindingGroup(serviceName, moduleName, functionName, true).get(0);
-        return TaskExecutor.<T>init(taskBinding.getBean(), taskBinding.getMethod(), args).execute();
+        boolean recordMetrics = TaskMetrics.getInstance().isEnabled();
+        Object[] events = beginEvents(1);
+        if (!recordMetrics && events == null) {
+            return taskBinding.<T>getTaskGenerate().withArgs(args).execute();
+        }
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return taskBinding.<T>getTaskGenerate().withArgs(args).execute();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            long executeNanos = System.nanoTime() - start;
+            if (recordMetrics) {
+                taskBinding.getTimer().record(executeNanos, failure == null);
+            }
+            if (events != null) {
+                TaskBindingEvents.commit(events[0], serviceName, moduleName, functionName, taskBinding.getMethod(),
+                        TaskBindingEvents.EXECUTE_ONE, executeNanos, failure);
+            }
+        }
+    }
+
+    /**
+     * 开始分发事件
+     *
+     * @return 事件对象,未开启录制返回null
+     */
+    private static Object[] beginEvents(int count) {
+        return TaskBindingEvents.isEnabled() ? TaskBindingEvents.begin(count) : null;
+    }
+
+    /**
+     * 批量执行:收集时间窗口内对同一任务的单参数调用,合并为一次批量调用,再把结果分发给每个调用
+     * 任务方法只有一个List参数,返回与参数等长且顺序一致的List
+     * 时间窗口和最大批量见{@link BindingTaskConfig#BATCH_WINDOW_PROPERTY},{@link BindingTaskConfig#BATCH_MAX_SIZE_PROPERTY}
+     *
+     * @param serviceName  {@link TaskBinding}服务名
+     * @param moduleName   {@link TaskBinding} 模块名
+     * @param functionName {@link TaskHandler} 模块名
+     * @param arg          单个参数
+     * @param <T>          单个参数的结果类型
+     * @return CompletableFuture<T>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> executeOneBatched(String serviceName, String moduleName, String functionName, Object arg) {
+        TaskBindingPoll.TaskBindingData taskBinding = getTaskBindingGroup(serviceName, moduleName, functionName, true).get(0);
+        TaskBatchLoader<Object, Object> loader = BATCH_LOADERS.get(taskBinding);
+        if (loader == null) {
+            loader = BATCH_LOADERS.computeIfAbsent(taskBinding, TaskBindingUtil::createBatchLoader);
+        }
+        Object[] events = beginEvents(1);
+        CompletableFuture<T> future = (CompletableFuture<T>) loader.load(arg);
+        if (events != null) {
+            // 事件覆盖等待合并和批量执行的时间,在结果完成时提交
+            long start = System.nanoTime();
+            future.whenComplete((result, e) -> TaskBindingEvents.commit(events[0], serviceName, moduleName, functionName, taskBinding.getMethod(),
+                    TaskBindingEvents.EXECUTE_ONE_BATCHED, System.nanoTime() - start,
+                    e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+        }
+        return future;
+    }
+
+    private static TaskBatchLoader<Object, Object> createBatchLoader(TaskBindingPoll.TaskBindingData taskBinding) {
+        Method method = taskBinding.getMethod();
+        if (method.getParameterCount() != 1 || !List.class.isAssignableFrom(method.getParameterTypes()[0])
+                || !List.class.isAssignableFrom(method.getReturnType())) {
+            throw new RuntimeException(String.format("[Binding-Task] Batch task must take a single List argument and return a List. Please check:{method=%s}", method));
+        }
+        return TaskBatchLoader.init(taskBinding.<List<Object>>getTaskGenerate(), BindingTaskConfig.getBatchMaxSize(),
+                BindingTaskConfig.getBatchWindowMillis(), TimeUnit.MILLISECONDS, BindingTaskConfig.getExecutor());
+    }
+
+    /**
+     * 任务执行并获取结果:失败时按重试策略重试,执行过慢时按对冲策略再执行一份,取先成功的结果
+     *
+     * @param retryPolicy  重试策略(为空不重试)
+     * @param hedgePolicy  对冲策略(为空不对冲)
+     * @param serviceName  {@link TaskBinding}服务名
+     * @param moduleName   {@link TaskBinding} 模块名
+     * @param functionName {@link TaskHandler} 模块名
+     * @param args         执行参数
+     * @param <T>          任务返回类型
+     * @return TaskBindingResult<T>(记录执行次数以及结果是否来自对冲执行)
+     */
+    public static <T> TaskBindingResult<T> executeOne(TaskRetryPolicy retryPolicy, TaskHedgePolicy hedgePolicy,
+                                                      String serviceName, String moduleName, String functionName, Object... args) {
+        TaskBindingPoll.TaskBindingData taskBinding = getTaskBindingGroup(serviceName, moduleName, functionName, true).get(0);
+        Object[] events = beginEvents(1);
+        TaskResult<T> taskResult = taskBinding.<T>getTaskGenerate().withArgs(args)
+                .execute(BindingTaskConfig.getExecutor(), retryPolicy, hedgePolicy);
+        if (events != null) {
+            TaskBindingEvents.commit(events[0], serviceName, moduleName, functionName, taskBinding.getMethod(),
+                    TaskBindingEvents.EXECUTE_ONE, taskResult);
+        }
+        return TaskBindingResult.init(serviceName, moduleName, functionName, taskBinding.getBean(), taskBinding.getMethod(), taskResult);
     }
 
 
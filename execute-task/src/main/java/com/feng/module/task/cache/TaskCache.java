@@ -0,0 +1,268 @@
+package com.feng.module.task.cache;
+
+import com.feng.module.task.model.TaskException;
+import com.feng.module.task.model.TaskModel;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务结果缓存
+ * 以(执行对象,执行方法,执行参数)为key缓存成功的执行结果,按LRU和过期时间淘汰;分段加锁,降低并发访问的锁竞争
+ * 开启single-flight时,相同key的并发执行只执行一次,其他调用等待并共享结果(包括异常)
+ * 只适用于幂等的方法,参数需正确实现equals/hashCode且在执行后不再修改
+ * lambda封装的任务没有可比较的方法,以调用器实例为key:只有复用同一个调用器(同一个TaskGenerate)的任务才能命中缓存
+ */
+public final class TaskCache {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /**
+     * 结果缓存分段(只开启single-flight时为null)
+     */
+    private final Segment[] segments;
+    private final int segmentMask;
+    /**
+     * 过期时间(纳秒,小于等于0不过期)
+     */
+    private final long ttlNanos;
+    /**
+     * 执行中的任务(未开启single-flight时为null)
+     */
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight;
+
+    private TaskCache(int maxSize, long ttlNanos, boolean singleFlight) {
+        if (maxSize > 0) {
+            int segmentCount = Integer.highestOneBit(Math.min(maxSize, MAX_SEGMENTS));
+            int segmentCapacity = (maxSize + segmentCount - 1) / segmentCount;
+            this.segments = new Segment[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = new Segment(segmentCapacity);
+            }
+            this.segmentMask = segmentCount - 1;
+        } else {
+            this.segments = null;
+            this.segmentMask = 0;
+        }
+        this.ttlNanos = ttlNanos;
+        this.inFlight = singleFlight ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * 初始化结果缓存
+     *
+     * @param maxSize 最大缓存数量
+     * @param ttl     过期时间(小于等于0不过期)
+     * @param unit    时间单位
+     * @return 结果缓存
+     */
+    public static TaskCache init(int maxSize, long ttl, TimeUnit unit) {
+        return init(maxSize, ttl, unit, false);
+    }
+
+    /**
+     * 初始化结果缓存
+     *
+     * @param maxSize      最大缓存数量
+     * @param ttl          过期时间(小于等于0不过期)
+     * @param unit         时间单位
+     * @param singleFlight 相同key的并发执行是否只执行一次
+     * @return 结果缓存
+     */
+    public static TaskCache init(int maxSize, long ttl, TimeUnit unit, boolean singleFlight) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] Cache maxSize must be greater than 0.");
+        }
+        return new TaskCache(maxSize, unit.toNanos(ttl), singleFlight);
+    }
+
+    /**
+     * 只合并相同key的并发执行,不缓存结果
+     *
+     * @return 结果缓存
+     */
+    public static TaskCache singleFlight() {
+        return new TaskCache(0, 0, true);
+    }
+
+    /**
+     * 通过缓存执行任务
+     *
+     * @param taskModel 任务模型
+     * @param <R>       任务返回类型
+     * @return 任务执行结果
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(TaskModel<R> taskModel) {
+        Key key = new Key(taskModel);
+        Entry cached = get(key);
+        if (cached != null) {
+            return (R) cached.value;
+        }
+        if (inFlight == null) {
+            R result = taskModel.execute();
+            put(key, result);
+            return result;
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return (R) join(existing);
+        }
+        try {
+            // 成为执行者前,上一次执行可能刚写入缓存:直接返回,不重新写入(重新写入会延长过期时间)
+            cached = get(key);
+            if (cached != null) {
+                flight.complete(cached.value);
+                return (R) cached.value;
+            }
+            R result = taskModel.execute();
+            put(key, result);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        if (segments != null) {
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            }
+        }
+    }
+
+    private Entry get(Key key) {
+        if (segments == null) {
+            return null;
+        }
+        Segment segment = segments[key.hash & segmentMask];
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null && ttlNanos > 0 && System.nanoTime() - entry.expireAt >= 0) {
+                segment.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void put(Key key, Object value) {
+        if (segments == null) {
+            return;
+        }
+        Entry entry = new Entry(value, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0);
+        Segment segment = segments[key.hash & segmentMask];
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    /**
+     * 等待执行中的任务,共享其结果或异常
+     * 等待可以被中断(例如任务超时或被取消):恢复中断标记并以取消失败结束,不影响执行者
+     */
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw TaskException.isCompact() ? TaskException.CANCELLED
+                    : new CancellationException("[Execute-Task] Interrupted while waiting for the in-flight execution.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * LRU分段(访问顺序的LinkedHashMap,由分段对象锁保护)
+     */
+    private static final class Segment extends LinkedHashMap<Key, Entry> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    /**
+     * 缓存key:执行方法(lambda封装的任务为调用器实例,按引用比较),执行对象(按引用比较),执行参数
+     */
+    private static final class Key {
+        private final Object target;
+        private final Object bean;
+        private final Object[] args;
+        private final int hash;
+
+        private Key(TaskModel<?> taskModel) {
+            this.target = taskModel.getMethod() != null ? taskModel.getMethod() : taskModel.getInvoker();
+            this.bean = taskModel.getBean();
+            this.args = taskModel.getArgs() == null ? EMPTY_ARGS : taskModel.getArgs();
+            int h = target == null ? 0 : target.hashCode();
+            h = 31 * h + System.identityHashCode(bean);
+            h = 31 * h + Arrays.deepHashCode(args);
+            // 扩散高位,分段下标取低位
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && bean == other.bean
+                    && (target == null ? other.target == null : target.equals(other.target))
+                    && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.feng.module.task.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 准入控制执行器(CoDel)
+ * 在线程池前按任务的排队时间(从提交到开始执行)判断是否过载,过载时提前拒绝任务,避免排队时间无限增长:
+ * 1. 每个统计周期结束时,周期内最小排队时间超过目标排队时间则进入过载状态(排队时间持续超过目标,而不是短时突发);
+ * 有任务的排队时间低于目标时立即退出
+ * 2. 过载状态下按CoDel控制律拒绝新提交的任务:到达下次拒绝时间时拒绝一个,第n次拒绝后下次拒绝时间为当前时间+统计周期/√n,
+ * 过载持续时拒绝逐渐变密,其余任务正常提交(超过一个统计周期没有任务开始执行时不拒绝)
+ * 3. 过载状态下排队时间超过目标2倍的任务在开始执行前以拒绝失败结束,不再执行;未过载时不丢弃
+ * 拒绝抛出不记录堆栈的{@link RejectedExecutionException},多任务执行时结果为REJECTED失败
+ *
+ * <pre>
+ * ExecutorService threadPool = TaskAdmissionExecutor.init(pool, 5, 100, TimeUnit.MILLISECONDS);
+ * List&lt;TaskResult&lt;String&gt;&gt; taskResults = TaskExecutor.executeTasks(taskList, threadPool);
+ * </pre>
+ */
+public final class TaskAdmissionExecutor extends AbstractExecutorService {
+
+    /**
+     * 重新进入过载状态时沿用上次拒绝次数的时间范围(统计周期的倍数)
+     */
+    private static final int DROP_COUNT_REUSE_INTERVALS = 16;
+    /**
+     * 统计周期未开始(还没有任务开始执行)
+     */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final ExecutorService executor;
+    private final long targetNanos;
+    private final long intervalNanos;
+    /**
+     * 过载时丢弃的排队时间阈值(目标的2倍)
+     */
+    private final long sloughNanos;
+    /**
+     * 当前统计周期的结束时间和最小排队时间
+     * 第一个任务开始执行时开始第一个统计周期,创建后到第一个任务执行前的启动耗时不计入统计
+     */
+    private final AtomicLong intervalEndNanos = new AtomicLong(NOT_STARTED);
+    private final AtomicLong minDelayNanos = new AtomicLong(Long.MAX_VALUE);
+    /**
+     * 最近一个任务开始执行的时间
+     */
+    private volatile long lastDequeueNanos;
+    private volatile boolean overloaded;
+    /**
+     * 过载状态下的下次拒绝时间(拒绝方通过CAS推进,同一个拒绝时间只拒绝一个任务)和本次过载已拒绝的任务数
+     */
+    private final AtomicLong dropNextNanos = new AtomicLong();
+    private volatile int dropCount;
+    private final LongAdder shedCount = new LongAdder();
+
+    private TaskAdmissionExecutor(ExecutorService executor, long targetNanos, long intervalNanos) {
+        this.executor = executor;
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+        this.sloughNanos = targetNanos * 2;
+    }
+
+    /**
+     * 初始化准入控制执行器
+     *
+     * @param executor 执行任务的线程池(建议使用有界队列和AbortPolicy,队列满时同样直接拒绝)
+     * @param target   目标排队时间
+     * @param interval 统计周期(应大于任务的一般执行时间)
+     * @param unit     时间单位
+     * @return 执行器
+     */
+    public static TaskAdmissionExecutor init(ExecutorService executor, long target, long interval, TimeUnit unit) {
+        if (executor == null) {
+            throw new IllegalArgumentException("[Execute-Task] Thread pool cannot be empty.");
+        }
+        if (target <= 0 || interval <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] target and interval must be greater than 0.");
+        }
+        return new TaskAdmissionExecutor(executor, unit.toNanos(target), unit.toNanos(interval));
+    }
+
+    /**
+     * 提交任务
+     *
+     * @throws RejectedExecutionException 过载时拒绝,或线程池拒绝
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        long now = System.nanoTime();
+        // 超过一个统计周期没有任务开始执行时不再拒绝,避免队列清空后一直拒绝
+        if (overloaded && now - lastDequeueNanos < intervalNanos && shouldDrop(now)) {
+            shedCount.increment();
+            throw shed();
+        }
+        executor.execute(new Admission(command, now));
+    }
+
+    /**
+     * 当前是否过载
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    /**
+     * 因过载拒绝和丢弃的任务数
+     */
+    public long getShedCount() {
+        return shedCount.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> remaining = new ArrayList<>();
+        for (Runnable task : executor.shutdownNow()) {
+            remaining.add(task instanceof Admission ? ((Admission) task).command : task);
+        }
+        return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * 任务开始执行时记录排队时间
+     *
+     * @param delayNanos 排队时间
+     * @param now        当前时间(System.nanoTime)
+     * @return 是否丢弃该任务
+     */
+    boolean onDequeue(long delayNanos, long now) {
+        lastDequeueNanos = now;
+        long intervalEnd = intervalEndNanos.get();
+        if (intervalEnd == NOT_STARTED && intervalEndNanos.compareAndSet(NOT_STARTED, now + intervalNanos)) {
+            // 第一个任务开始执行,开始第一个统计周期
+            intervalEnd = now + intervalNanos;
+        } else if (intervalEnd == NOT_STARTED) {
+            intervalEnd = intervalEndNanos.get();
+        }
+        if (now - intervalEnd >= 0 && intervalEndNanos.compareAndSet(intervalEnd, now + intervalNanos)) {
+            // 周期结束:周期内所有任务的排队时间都超过目标时判定为过载
+            // (中间空闲超过一个周期时上个周期的统计已过期;周期内没有统计时不判定为过载)
+            long minDelay = minDelayNanos.getAndSet(delayNanos);
+            boolean overload = now - intervalEnd < intervalNanos && minDelay != Long.MAX_VALUE && minDelay > targetNanos;
+            if (overload && !overloaded) {
+                enterOverload(now);
+            }
+            overloaded = overload;
+        } else {
+            long min;
+            while (delayNanos < (min = minDelayNanos.get()) && !minDelayNanos.compareAndSet(min, delayNanos)) {
+                // 并发更新时重试
+            }
+            if (delayNanos < targetNanos && overloaded) {
+                overloaded = false;
+            }
+        }
+        return overloaded && delayNanos > sloughNanos;
+    }
+
+    /**
+     * CoDel控制律:到达下次拒绝时间时拒绝,第n次拒绝后下次拒绝时间为now+interval/√n
+     *
+     * @param now 当前时间(System.nanoTime)
+     * @return 是否拒绝
+     */
+    boolean shouldDrop(long now) {
+        long dropNext = dropNextNanos.get();
+        if (now - dropNext < 0) {
+            return false;
+        }
+        int count = dropCount + 1;
+        if (!dropNextNanos.compareAndSet(dropNext, now + (long) (intervalNanos / Math.sqrt(count)))) {
+            // 其他线程已拒绝该时间点的任务
+            return false;
+        }
+        dropCount = count;
+        return true;
+    }
+
+    /**
+     * 进入过载状态:下一个提交的任务即被拒绝;距上次过载不久时沿用上次的拒绝次数(减2),直接以较高的频率拒绝
+     */
+    private void enterOverload(long now) {
+        int count = dropCount;
+        boolean recent = now - dropNextNanos.get() < DROP_COUNT_REUSE_INTERVALS * intervalNanos;
+        dropCount = recent && count > 2 ? count - 2 : 0;
+        dropNextNanos.set(now);
+    }
+
+    /**
+     * 过载拒绝的异常(不记录堆栈)
+     * RejectedExecutionException没有可以关闭suppression的构造方法,不使用共享实例,避免addSuppressed在实例上累积
+     */
+    private static RejectedExecutionException shed() {
+        return new StacklessRejectedExecutionException("[Execute-Task] Task shed by admission control: queue delay exceeds target.");
+    }
+
+    /**
+     * 记录提交时间的任务
+     */
+    private final class Admission implements Runnable {
+        private final Runnable command;
+        private final long enqueueNanos;
+
+        private Admission(Runnable command, long enqueueNanos) {
+            this.command = command;
+            this.enqueueNanos = enqueueNanos;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            if (!onDequeue(now - enqueueNanos, now)) {
+                command.run();
+                return;
+            }
+            // 可以以失败结束的任务直接丢弃,其他任务仍然执行(转交到线程池的任务按原任务判断)
+            Runnable task = TaskDispatcher.unwrap(command);
+            if (task instanceof TaskRun) {
+                shedCount.increment();
+                ((TaskRun<?>) task).cancel(TaskFailures.rejected(shed()), false);
+            } else if (command instanceof Future) {
+                shedCount.increment();
+                ((Future<?>) command).cancel(false);
+            } else {
+                command.run();
+            }
+        }
+    }
+
+    /**
+     * 不记录堆栈的RejectedExecutionException
+     */
+    private static final class StacklessRejectedExecutionException extends RejectedExecutionException {
+        private static final long serialVersionUID = 1L;
+
+        private StacklessRejectedExecutionException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.feng.module.task.core;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 基本类型数组任务执行器
+ * 参数和结果都是基本类型数组,通过TaskPackXxxToXxx直接调用,执行过程中不装箱、不为单个元素分配对象
+ * 适合高频的数值计算任务;任意一个元素执行失败时跳过剩余元素,抛出包含失败下标的异常
+ */
+public final class TaskArrayExecutor {
+
+    // 私有化
+    private TaskArrayExecutor() {
+    }
+
+    /**
+     * 对数组中的每个int参数执行任务,int结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackIntToInt taskPack, int[] args, int[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个int参数执行任务,long结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackIntToLong taskPack, int[] args, long[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个int参数执行任务,double结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackIntToDouble taskPack, int[] args, double[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个long参数执行任务,int结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackLongToInt taskPack, long[] args, int[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个long参数执行任务,long结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackLongToLong taskPack, long[] args, long[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个long参数执行任务,double结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackLongToDouble taskPack, long[] args, double[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个double参数执行任务,int结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackDoubleToInt taskPack, double[] args, int[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个double参数执行任务,long结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackDoubleToLong taskPack, double[] args, long[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    /**
+     * 对数组中的每个double参数执行任务,double结果写入results对应下标
+     *
+     * @param taskPack    任务lambda表达式形式 例如:this::score
+     * @param args        参数数组
+     * @param results     结果数组(长度不小于参数数组,可复用)
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    public static void execute(TaskPackDoubleToDouble taskPack, double[] args, double[] results, ExecutorService threadPool, int parallelism) {
+        checkLength(args.length, results.length);
+        TaskArrayRun.execute(i -> results[i] = taskPack.excuter(args[i]), args.length, threadPool, parallelism);
+    }
+
+    private static void checkLength(int argsLength, int resultsLength) {
+        if (resultsLength < argsLength) {
+            throw new IllegalArgumentException(String.format(
+                    "[Execute-Task] results length %d is less than args length %d.", resultsLength, argsLength));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.feng.module.task.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 数组任务的分块并行执行
+ * 工作线程(包括调用线程)从共享游标按块领取下标,执行过程中不为单个元素分配对象
+ */
+final class TaskArrayRun implements Runnable {
+
+    /**
+     * 按下标执行的任务
+     */
+    @FunctionalInterface
+    interface IndexTask {
+        void run(int index) throws Exception;
+    }
+
+    private final IndexTask task;
+    private final int size;
+    private final int chunkSize;
+    private final AtomicInteger cursor = new AtomicInteger();
+    /**
+     * 已完成(或失败后跳过)的下标数
+     */
+    private final AtomicInteger completed = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    /**
+     * 第一个失败(失败后其他工作线程跳过剩余下标)
+     */
+    private volatile Throwable failure;
+    private volatile int failureIndex = -1;
+
+    private TaskArrayRun(IndexTask task, int size, int chunkSize) {
+        this.task = task;
+        this.size = size;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 执行数组任务,返回时所有下标都已执行
+     * 调用线程也参与执行,所有下标完成后立即返回,不等待尚未开始的工作线程
+     *
+     * @param task        按下标执行的任务
+     * @param size        数组长度
+     * @param threadPool  线程池(为空时在当前线程中执行)
+     * @param parallelism 最大并行度(包括调用线程)
+     */
+    static void execute(IndexTask task, int size, ExecutorService threadPool, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] parallelism must be greater than 0.");
+        }
+        if (size == 0) {
+            return;
+        }
+        int workers = threadPool == null ? 1 : Math.min(parallelism, size);
+        // 每个工作线程平均领取4块,兼顾负载均衡和游标竞争
+        int chunkSize = Math.max(1, size / (workers * 4));
+        TaskArrayRun run = new TaskArrayRun(task, size, chunkSize);
+        for (int i = 1; i < workers; i++) {
+            try {
+                threadPool.execute(run);
+            } catch (RejectedExecutionException e) {
+                // 拒绝的工作线程不参与,剩余下标由其他工作线程领取
+                break;
+            }
+        }
+        run.run();
+        run.awaitDone();
+        Throwable failure = run.failure;
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new RuntimeException(String.format("[Execute-Task] Array task execution failed at index %d.", run.failureIndex), failure);
+        }
+    }
+
+    @Override
+    public void run() {
+        int start;
+        while ((start = cursor.getAndAdd(chunkSize)) < size && start >= 0) {
+            int end = Math.min(start + chunkSize, size);
+            if (failure == null) {
+                runChunk(start, end);
+            }
+            if (completed.addAndGet(end - start) == size) {
+                done.countDown();
+            }
+        }
+    }
+
+    private void runChunk(int start, int end) {
+        int index = start;
+        try {
+            for (; index < end; index++) {
+                task.run(index);
+            }
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (failure == null) {
+                    failureIndex = index;
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 等待其他工作线程完成(不响应中断,中断标记在返回前恢复)
+     */
+    private void awaitDone() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
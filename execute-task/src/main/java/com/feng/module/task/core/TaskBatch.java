@@ -0,0 +1,184 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.jfr.TaskEvents;
+import com.feng.module.task.metrics.TaskMetrics;
+import com.feng.module.task.model.TaskResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分批执行的多任务
+ * 固定数量的工作线程从共享游标按批领取任务,结果写入预分配的数组
+ * 提交次数和额外内存只与并行度有关,与任务数量无关
+ *
+ * @param <R> 任务返回类型
+ */
+final class TaskBatch<R> implements Runnable {
+
+    private final List<TaskExecutor<R>> tasks;
+    private final TaskResult<?>[] results;
+    private final int chunkSize;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger activeWorkers;
+    private final CompletableFuture<List<TaskResult<R>>> future = new CompletableFuture<>();
+    /**
+     * 提交时间
+     */
+    private final long submitNanos = System.nanoTime();
+    /**
+     * 提交时捕获的取消令牌(执行期间作为工作线程的当前令牌,取消后剩余任务不再执行)
+     */
+    private final TaskCancellationToken token = TaskCancellationToken.current();
+    /**
+     * 提交线程的上下文快照(每个工作线程恢复一次)
+     */
+    private final TaskContextSnapshot context = TaskContexts.capture();
+    /**
+     * 任务抛出的Error(只记录第一个)
+     */
+    private volatile Throwable error;
+
+    private TaskBatch(List<TaskExecutor<R>> tasks, int workers, int chunkSize) {
+        this.tasks = tasks instanceof RandomAccess ? tasks : new ArrayList<>(tasks);
+        this.results = new TaskResult<?>[tasks.size()];
+        this.chunkSize = chunkSize;
+        this.activeWorkers = new AtomicInteger(workers);
+    }
+
+    /**
+     * 提交分批任务
+     * 工作线程通过{@link TaskDispatcher}转交到线程池,线程池拒绝(包括CallerRunsPolicy要求在提交线程中执行)的工作线程不执行;
+     * 所有工作线程都被拒绝时,允许在当前线程中执行则由当前线程执行全部任务,否则未执行的任务以拒绝失败结束
+     *
+     * @param tasks          任务列表
+     * @param threadPool     线程池(为空时使用默认异步线程池)
+     * @param parallelism    最大并行度(同时占用的线程数)
+     * @param chunkSize      每次领取的任务数
+     * @param allowCallerRun 所有工作线程都被拒绝时是否在当前线程中执行(只用于阻塞执行)
+     * @param <R>            任务返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    static <R> CompletableFuture<List<TaskResult<R>>> submit(List<TaskExecutor<R>> tasks, ExecutorService threadPool, int parallelism, int chunkSize,
+                                                             boolean allowCallerRun) {
+        if (parallelism <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] parallelism and chunkSize must be greater than 0.");
+        }
+        int workers = Math.min(parallelism, (tasks.size() + chunkSize - 1) / chunkSize);
+        TaskBatch<R> batch = new TaskBatch<>(tasks, Math.max(workers, 1), chunkSize);
+        if (workers == 0) {
+            batch.finish();
+            return batch.future;
+        }
+        int rejectedWorkers = 0;
+        RejectedExecutionException rejected = null;
+        for (int i = 0; i < workers; i++) {
+            RejectedExecutionException e = TaskDispatcher.dispatch(threadPool, batch);
+            if (e != null) {
+                rejectedWorkers++;
+                rejected = e;
+            }
+        }
+        if (rejectedWorkers < workers) {
+            // 被拒绝的工作线程不会执行,由已提交的工作线程完成全部任务
+            if (rejectedWorkers > 0 && batch.activeWorkers.addAndGet(-rejectedWorkers) == 0) {
+                batch.finish();
+            }
+        } else if (allowCallerRun) {
+            batch.activeWorkers.set(1);
+            batch.run();
+        } else {
+            batch.reject(rejected);
+        }
+        return batch.future;
+    }
+
+    /**
+     * 所有工作线程都被拒绝:未执行的任务以拒绝失败结束
+     */
+    private void reject(RejectedExecutionException e) {
+        Exception reason = TaskFailures.rejected(e);
+        long now = System.nanoTime();
+        for (int i = 0; i < results.length; i++) {
+            results[i] = TaskResult.fail(null, reason, submitNanos, 0, now);
+        }
+        finish();
+    }
+
+    @Override
+    public void run() {
+        int size = results.length;
+        int start;
+        Object[] previousContext = null;
+        TaskCancellationToken previous = token.attach();
+        try {
+            previousContext = context.restore();
+            while ((start = cursor.getAndAdd(chunkSize)) < size) {
+                int end = Math.min(start + chunkSize, size);
+                for (int i = start; i < end; i++) {
+                    results[i] = execute(tasks.get(i));
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // 上下文恢复失败:剩余任务不再执行
+            if (error == null) {
+                error = e;
+            }
+            cursor.set(size);
+        } finally {
+            context.reset(previousContext);
+            token.detach(previous);
+        }
+        if (activeWorkers.decrementAndGet() == 0) {
+            finish();
+        }
+    }
+
+    private TaskResult<R> execute(TaskExecutor<R> task) {
+        long start = System.nanoTime();
+        // 令牌已取消(调用方已放弃):不再执行
+        if (token.isCancelled()) {
+            return TaskResult.fail(null, token.getCancelReason(), submitNanos, start, start);
+        }
+        TaskResult<R> result;
+        boolean recordEvent = TaskEvents.isExecutionEnabled();
+        try {
+            if (recordEvent) {
+                TaskEvents.setQueueNanos(start - submitNanos);
+            }
+            R value = task.execute();
+            result = TaskResult.success(value, submitNanos, start, System.nanoTime());
+        } catch (Exception e) {
+            result = TaskResult.fail(null, e, submitNanos, start, System.nanoTime());
+        } catch (Throwable e) {
+            if (error == null) {
+                error = e;
+            }
+            return TaskResult.fail(null, null);
+        } finally {
+            if (recordEvent) {
+                TaskEvents.setQueueNanos(0);
+            }
+        }
+        TaskMetrics metrics = TaskMetrics.getInstance();
+        if (metrics.isEnabled()) {
+            metrics.timer(task.getTaskModel()).record(result.endNanos - start, result.success);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void finish() {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete((List<TaskResult<R>>) (List<?>) Arrays.asList(results));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.timer.HashedWheelTimer;
+import com.feng.module.task.timer.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量加载器
+ * 收集时间窗口内(或达到最大批量时)的单个参数请求,合并为一次批量方法调用,再把结果分发给每个请求
+ * 批量方法只有一个List参数,返回与参数等长且顺序一致的List;同一批次中相同的参数只加载一次
+ * 批量方法总是在线程池中执行;线程池拒绝(包括CallerRunsPolicy)时批次中的请求以拒绝失败结束
+ *
+ * <pre>
+ * TaskBatchLoader&lt;Long, User&gt; loader = TaskBatchLoader.init(TaskGenerate.init(userService::listByIds), 100, 2, TimeUnit.MILLISECONDS, threadPool);
+ * CompletableFuture&lt;User&gt; user = loader.load(userId);
+ * </pre>
+ *
+ * @param <K> 参数类型
+ * @param <V> 结果类型
+ */
+public final class TaskBatchLoader<K, V> {
+
+    private final TaskGenerate<? extends List<V>> batchTask;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ExecutorService threadPool;
+
+    // 以下字段由loader对象锁保护
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private Timeout windowTimeout;
+
+    private TaskBatchLoader(TaskGenerate<? extends List<V>> batchTask, int maxBatchSize, long windowNanos, ExecutorService threadPool) {
+        this.batchTask = batchTask;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * 初始化批量加载器
+     *
+     * @param batchTask    批量方法(参数为List&lt;K&gt;,返回List&lt;V&gt;)
+     * @param maxBatchSize 最大批量(达到后立即执行)
+     * @param window       收集请求的时间窗口(从批次第一个请求开始计算,精度为时间轮的tick)
+     * @param unit         时间单位
+     * @param threadPool   执行批量方法的线程池(为空时使用默认异步线程池)
+     * @param <K>          参数类型
+     * @param <V>          结果类型
+     * @return 批量加载器
+     */
+    public static <K, V> TaskBatchLoader<K, V> init(TaskGenerate<? extends List<V>> batchTask, int maxBatchSize, long window, TimeUnit unit,
+                                                    ExecutorService threadPool) {
+        if (batchTask == null) {
+            throw new IllegalArgumentException("[Execute-Task] Batch task cannot be empty.");
+        }
+        if (maxBatchSize <= 0 || window < 0) {
+            throw new IllegalArgumentException("[Execute-Task] maxBatchSize must be greater than 0 and window cannot be negative.");
+        }
+        return new TaskBatchLoader<>(batchTask, maxBatchSize, unit.toNanos(window), threadPool);
+    }
+
+    /**
+     * 加载单个参数的结果
+     *
+     * @param key 参数
+     * @return 批量方法执行后的结果
+     */
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> batch = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                batch = takeBatch();
+            } else if (pending.size() == 1) {
+                Map<K, CompletableFuture<V>> windowBatch = pending;
+                windowTimeout = HashedWheelTimer.getInstance().newTimeout(() -> flushIf(windowBatch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    /**
+     * 立即执行当前收集的请求
+     */
+    public void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * 时间窗口到期:只执行创建该定时任务的批次
+     * 批次已因达到最大批量被取走时(到期回调已在执行,取消不了),不执行之后收集的新批次,新批次按自己的时间窗口执行
+     *
+     * @param windowBatch 创建定时任务时的批次
+     */
+    private void flushIf(Map<K, CompletableFuture<V>> windowBatch) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending != windowBatch || pending.isEmpty()) {
+                return;
+            }
+            batch = takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takeBatch() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowTimeout != null) {
+            windowTimeout.cancel();
+            windowTimeout = null;
+        }
+        return batch;
+    }
+
+    /**
+     * 转交批次到线程池(时间窗口到期时在时间轮线程中调用,不在当前线程中执行批量方法),拒绝时批次中的请求都以拒绝失败结束
+     */
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        RejectedExecutionException rejected = TaskDispatcher.dispatch(threadPool, () -> execute(batch));
+        if (rejected != null) {
+            Exception failure = TaskFailures.rejected(rejected);
+            batch.values().forEach(future -> future.completeExceptionally(failure));
+        }
+    }
+
+    private void execute(Map<K, CompletableFuture<V>> batch) {
+        List<K> keys = Collections.unmodifiableList(new ArrayList<>(batch.keySet()));
+        List<V> values;
+        try {
+            values = batchTask.withArgs(keys).execute();
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        if (values == null || values.size() != keys.size()) {
+            IllegalStateException e = new IllegalStateException(String.format(
+                    "[Execute-Task] Batch task returned %s results for %d keys.", values == null ? "null" : values.size(), keys.size()));
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        Iterator<V> iterator = values.iterator();
+        for (CompletableFuture<V> future : batch.values()) {
+            future.complete(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.feng.module.task.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 任务取消令牌
+ * 提交任务时捕获当前线程的令牌,任务执行期间作为执行线程的当前令牌,嵌套的多任务执行自动继承剩余的超时时间
+ * 令牌被取消(或到达截止时间)后,尚未开始的任务直接失败,嵌套多任务中执行中的任务被中断
+ * 任务中可以通过{@link #current()}低成本地检查是否需要提前结束
+ *
+ * <pre>
+ * TaskCancellationToken token = TaskCancellationToken.withTimeout(200, TimeUnit.MILLISECONDS);
+ * List&lt;TaskResult&lt;String&gt;&gt; taskResults = token.call(() -&gt; TaskExecutor.executeTasks(taskList, threadPool));
+ * </pre>
+ */
+public final class TaskCancellationToken {
+
+    /**
+     * 没有令牌时的默认令牌(不会被取消,没有截止时间)
+     */
+    private static final TaskCancellationToken NONE = new TaskCancellationToken(null, false, 0);
+    private static final ThreadLocal<TaskCancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final TaskCancellationToken parent;
+    private final boolean hasDeadline;
+    /**
+     * 截止时间(System.nanoTime)
+     */
+    private final long deadlineNanos;
+    /**
+     * 取消原因(为空未取消)
+     */
+    private volatile Exception reason;
+    /**
+     * 取消监听(由令牌对象锁保护);有监听时在父令牌上注册,父令牌取消时级联取消
+     */
+    private final List<Consumer<Exception>> listeners = new ArrayList<>();
+    private final Consumer<Exception> parentListener = this::cancel;
+
+    private TaskCancellationToken(TaskCancellationToken parent, boolean hasDeadline, long deadlineNanos) {
+        this.parent = parent;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 获取当前线程的令牌
+     *
+     * @return 当前令牌,没有时返回不会被取消的默认令牌
+     */
+    public static TaskCancellationToken current() {
+        TaskCancellationToken token = CURRENT.get();
+        return token == null ? NONE : token;
+    }
+
+    /**
+     * 创建当前令牌的子令牌(当前令牌取消时子令牌也取消)
+     *
+     * @return 子令牌
+     */
+    public static TaskCancellationToken create() {
+        TaskCancellationToken parent = current();
+        return new TaskCancellationToken(parent == NONE ? null : parent, parent.hasDeadline, parent.deadlineNanos);
+    }
+
+    /**
+     * 创建带超时时间的子令牌(截止时间不晚于当前令牌的截止时间)
+     *
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 子令牌
+     */
+    public static TaskCancellationToken withTimeout(long timeout, TimeUnit unit) {
+        return current().child(unit.toNanos(timeout));
+    }
+
+    /**
+     * 是否已取消或已到达截止时间
+     */
+    public boolean isCancelled() {
+        return reason != null
+                || (hasDeadline && System.nanoTime() - deadlineNanos >= 0)
+                || (parent != null && parent.isCancelled());
+    }
+
+    /**
+     * 已取消时抛出取消原因
+     *
+     * @throws CancellationException 令牌已取消或已到达截止时间
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            Exception cause = getCancelReason();
+            if (cause instanceof CancellationException) {
+                throw (CancellationException) cause;
+            }
+            CancellationException e = new CancellationException(cause.getMessage());
+            e.initCause(cause);
+            throw e;
+        }
+    }
+
+    /**
+     * 剩余时间(纳秒)
+     *
+     * @return 剩余时间,没有截止时间返回Long.MAX_VALUE,已过截止时间返回0
+     */
+    public long remainingNanos() {
+        return hasDeadline ? Math.max(0, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 是否有截止时间
+     */
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * 取消令牌(子令牌以及使用该令牌的嵌套任务同时取消)
+     *
+     * @return 是否取消成功(已取消或默认令牌返回false)
+     */
+    public boolean cancel() {
+        return cancel(TaskFailures.cancelled("[Execute-Task] Task cancelled by cancellation token."));
+    }
+
+    /**
+     * 在当前线程中以该令牌为当前令牌执行
+     *
+     * @param supplier 执行逻辑
+     * @param <T>      返回类型
+     * @return 执行结果
+     */
+    public <T> T call(Supplier<T> supplier) {
+        TaskCancellationToken previous = attach();
+        try {
+            return supplier.get();
+        } finally {
+            detach(previous);
+        }
+    }
+
+    /**
+     * 在当前线程中以该令牌为当前令牌执行
+     *
+     * @param runnable 执行逻辑
+     */
+    public void run(Runnable runnable) {
+        TaskCancellationToken previous = attach();
+        try {
+            runnable.run();
+        } finally {
+            detach(previous);
+        }
+    }
+
+    /**
+     * 取消原因
+     *
+     * @return 显式取消的原因,到达截止时间为TimeoutException(精简失败模式下为共享的TaskException.TIMEOUT),未取消返回null
+     */
+    Exception getCancelReason() {
+        for (TaskCancellationToken token = this; token != null; token = token.parent) {
+            Exception cause = token.reason;
+            if (cause != null) {
+                return cause;
+            }
+            if (token.hasDeadline && System.nanoTime() - token.deadlineNanos >= 0) {
+                return TaskFailures.deadlineExceeded();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 创建子令牌,截止时间取超时时间和当前截止时间中较早的一个
+     *
+     * @param timeoutNanos 超时时间(纳秒)
+     * @return 子令牌
+     */
+    TaskCancellationToken child(long timeoutNanos) {
+        long deadline = System.nanoTime() + Math.max(timeoutNanos, 0);
+        if (hasDeadline && deadlineNanos - deadline < 0) {
+            deadline = deadlineNanos;
+        }
+        return new TaskCancellationToken(this == NONE ? null : this, true, deadline);
+    }
+
+    /**
+     * 设置为当前线程的令牌
+     *
+     * @return 之前的令牌(用于恢复,可能为null)
+     */
+    TaskCancellationToken attach() {
+        TaskCancellationToken previous = CURRENT.get();
+        if (previous != this && !(previous == null && this == NONE)) {
+            CURRENT.set(this);
+        }
+        return previous;
+    }
+
+    /**
+     * 恢复之前的令牌
+     *
+     * @param previous {@link #attach()}的返回值
+     */
+    void detach(TaskCancellationToken previous) {
+        if (previous == null) {
+            if (this != NONE) {
+                CURRENT.remove();
+            }
+        } else if (previous != this) {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * 是否可能被显式取消(默认令牌不会被取消,不需要注册监听)
+     */
+    boolean isCancellable() {
+        return this != NONE;
+    }
+
+    /**
+     * 注册取消监听(已取消时立即回调)
+     * 父令牌的监听在子令牌的锁内注册和移除(加锁顺序总是子令牌到父令牌)
+     */
+    void addListener(Consumer<Exception> listener) {
+        synchronized (this) {
+            if (reason == null) {
+                if (listeners.isEmpty() && parent != null) {
+                    // 父令牌已取消时会立即级联取消当前令牌
+                    parent.addListener(parentListener);
+                }
+                if (reason == null) {
+                    listeners.add(listener);
+                    return;
+                }
+            }
+        }
+        listener.accept(reason);
+    }
+
+    /**
+     * 移除取消监听(没有监听时从父令牌上移除)
+     */
+    void removeListener(Consumer<Exception> listener) {
+        synchronized (this) {
+            if (listeners.remove(listener) && listeners.isEmpty() && parent != null) {
+                parent.removeListener(parentListener);
+            }
+        }
+    }
+
+    private boolean cancel(Exception cause) {
+        if (this == NONE) {
+            return false;
+        }
+        List<Consumer<Exception>> notify;
+        synchronized (this) {
+            if (reason != null) {
+                return false;
+            }
+            reason = cause;
+            notify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        if (!notify.isEmpty() && parent != null) {
+            parent.removeListener(parentListener);
+        }
+        notify.forEach(listener -> listener.accept(cause));
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package com.feng.module.task.core;
+
+/**
+ * 多任务完成策略
+ * 策略结果确定后(满足或已不可能满足),未完成的任务被取消,执行中的任务被中断,结果为{@link java.util.concurrent.CancellationException}失败
+ */
+public final class TaskCompletionPolicy {
+
+    private static final int ALL_TASKS = -1;
+
+    private static final TaskCompletionPolicy ALL = new TaskCompletionPolicy(ALL_TASKS, false);
+    private static final TaskCompletionPolicy FAIL_FAST = new TaskCompletionPolicy(ALL_TASKS, true);
+    private static final TaskCompletionPolicy FIRST_SUCCESS = new TaskCompletionPolicy(1, true);
+
+    /**
+     * 需要成功的任务数(ALL_TASKS表示全部任务)
+     */
+    private final int requiredSuccesses;
+    /**
+     * 结果确定后是否取消剩余任务
+     */
+    private final boolean cancelRemaining;
+
+    private TaskCompletionPolicy(int requiredSuccesses, boolean cancelRemaining) {
+        this.requiredSuccesses = requiredSuccesses;
+        this.cancelRemaining = cancelRemaining;
+    }
+
+    /**
+     * 等待所有任务完成(默认策略)
+     */
+    public static TaskCompletionPolicy all() {
+        return ALL;
+    }
+
+    /**
+     * 任意一个任务成功即完成;所有任务都失败时结束
+     */
+    public static TaskCompletionPolicy firstSuccess() {
+        return FIRST_SUCCESS;
+    }
+
+    /**
+     * 任意n个任务成功即完成;失败任务数超过总数-n时结束
+     *
+     * @param n 需要成功的任务数
+     */
+    public static TaskCompletionPolicy quorum(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] Quorum must be greater than 0.");
+        }
+        return new TaskCompletionPolicy(n, true);
+    }
+
+    /**
+     * 第一个任务失败时结束;否则等待所有任务成功
+     */
+    public static TaskCompletionPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * 校验任务数是否能满足策略
+     *
+     * @param total 任务总数
+     */
+    void validate(int total) {
+        if (requiredSuccesses > total) {
+            throw new IllegalArgumentException(String.format("[Execute-Task] Quorum %d is greater than task count %d.", requiredSuccesses, total));
+        }
+    }
+
+    /**
+     * 是否需要在结果确定后取消剩余任务
+     */
+    boolean isCancelRemaining() {
+        return cancelRemaining;
+    }
+
+    /**
+     * 策略结果是否已确定
+     *
+     * @param successes 已成功的任务数
+     * @param failures  已失败的任务数
+     * @param total     任务总数
+     * @return 是否已确定
+     */
+    boolean isDecided(int successes, int failures, int total) {
+        int required = requiredSuccesses == ALL_TASKS ? total : requiredSuccesses;
+        return successes >= required || failures > total - required;
+    }
+}
@@ -0,0 +1,82 @@
+package com.feng.module.task.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 任务完成顺序队列
+ * 多个完成线程写入任务下标,单个消费线程按完成顺序读取;容量固定为任务数,不需要额外分配
+ */
+final class TaskCompletionQueue {
+
+    private final AtomicIntegerArray slots;
+    private final AtomicInteger writeIndex = new AtomicInteger();
+    private final Thread consumer;
+    /**
+     * 消费线程被中断时执行(只执行一次)
+     */
+    private final Runnable onInterrupt;
+
+    // 以下字段仅消费线程访问
+    private int readIndex;
+    private boolean interrupted;
+
+    /**
+     * 构造方法
+     *
+     * @param capacity    任务数
+     * @param consumer    消费线程
+     * @param onInterrupt 消费线程被中断时执行
+     */
+    TaskCompletionQueue(int capacity, Thread consumer, Runnable onInterrupt) {
+        this.slots = new AtomicIntegerArray(capacity);
+        this.consumer = consumer;
+        this.onInterrupt = onInterrupt;
+        for (int i = 0; i < capacity; i++) {
+            slots.set(i, -1);
+        }
+    }
+
+    /**
+     * 写入已完成的任务下标(任意线程)
+     *
+     * @param index 任务下标
+     */
+    void offer(int index) {
+        slots.set(writeIndex.getAndIncrement(), index);
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * 是否还有未读取的任务
+     */
+    boolean hasNext() {
+        return readIndex < slots.length();
+    }
+
+    /**
+     * 读取下一个完成的任务下标(仅消费线程调用,没有完成的任务时阻塞)
+     *
+     * @return 任务下标
+     */
+    int take() {
+        int index;
+        while ((index = slots.get(readIndex)) < 0) {
+            LockSupport.park(this);
+            if (Thread.interrupted() && !interrupted) {
+                interrupted = true;
+                onInterrupt.run();
+            }
+        }
+        readIndex++;
+        return index;
+    }
+
+    /**
+     * 读取过程中消费线程是否被中断(中断标记由调用方在读取完成后恢复)
+     */
+    boolean isInterrupted() {
+        return interrupted;
+    }
+}
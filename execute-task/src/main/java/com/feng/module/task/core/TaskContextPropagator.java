@@ -0,0 +1,31 @@
+package com.feng.module.task.core;
+
+/**
+ * 线程上下文传递扩展(例如:MDC、租户、登录用户、链路追踪)
+ * 提交任务时在提交线程中捕获一次(多任务执行共享同一次捕获),在执行线程中恢复,执行完成后还原执行线程原来的上下文
+ * 通过{@link TaskContexts#register(TaskContextPropagator)}注册,或在META-INF/services中声明由ServiceLoader加载
+ */
+public interface TaskContextPropagator {
+
+    /**
+     * 在提交线程中捕获上下文
+     *
+     * @return 上下文快照(可以为null)
+     */
+    Object capture();
+
+    /**
+     * 在执行线程中恢复上下文
+     *
+     * @param snapshot {@link #capture()}的返回值
+     * @return 执行线程原来的上下文(用于还原)
+     */
+    Object restore(Object snapshot);
+
+    /**
+     * 执行完成后还原执行线程原来的上下文
+     *
+     * @param previous {@link #restore(Object)}的返回值
+     */
+    void reset(Object previous);
+}
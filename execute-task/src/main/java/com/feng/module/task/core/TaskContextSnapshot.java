@@ -0,0 +1,60 @@
+package com.feng.module.task.core;
+
+/**
+ * 提交线程的上下文快照
+ * 在执行线程中恢复,执行完成后按相反顺序还原
+ */
+final class TaskContextSnapshot {
+
+    /**
+     * 没有注册上下文传递扩展时的快照(恢复和还原都不做任何操作)
+     */
+    static final TaskContextSnapshot EMPTY = new TaskContextSnapshot(new TaskContextPropagator[0], new Object[0]);
+
+    private final TaskContextPropagator[] propagators;
+    private final Object[] values;
+
+    TaskContextSnapshot(TaskContextPropagator[] propagators, Object[] values) {
+        this.propagators = propagators;
+        this.values = values;
+    }
+
+    /**
+     * 在执行线程中恢复上下文(某个扩展恢复失败时,已恢复的上下文先还原再抛出异常)
+     *
+     * @return 执行线程原来的上下文(传给{@link #reset(Object[])})
+     */
+    Object[] restore() {
+        if (this == EMPTY) {
+            return null;
+        }
+        Object[] previous = new Object[propagators.length];
+        int restored = 0;
+        try {
+            for (; restored < propagators.length; restored++) {
+                previous[restored] = propagators[restored].restore(values[restored]);
+            }
+        } catch (RuntimeException | Error e) {
+            reset(previous, restored);
+            throw e;
+        }
+        return previous;
+    }
+
+    /**
+     * 还原执行线程原来的上下文
+     *
+     * @param previous {@link #restore()}的返回值
+     */
+    void reset(Object[] previous) {
+        if (previous != null) {
+            reset(previous, propagators.length);
+        }
+    }
+
+    private void reset(Object[] previous, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            propagators[i].reset(previous[i]);
+        }
+    }
+}
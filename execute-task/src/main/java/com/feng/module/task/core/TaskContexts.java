@@ -0,0 +1,85 @@
+package com.feng.module.task.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * 线程上下文传递注册中心
+ * 类加载时通过ServiceLoader加载META-INF/services中声明的{@link TaskContextPropagator},也可以在启动时手动注册
+ * 没有注册任何扩展时,捕获和恢复都不做任何操作
+ */
+public final class TaskContexts {
+
+    private static volatile TaskContextPropagator[] propagators = load();
+
+    // 私有化
+    private TaskContexts() {
+    }
+
+    /**
+     * 注册上下文传递扩展(同一个实例只注册一次)
+     *
+     * @param propagator 上下文传递扩展
+     */
+    public static synchronized void register(TaskContextPropagator propagator) {
+        if (propagator == null) {
+            throw new IllegalArgumentException("[Execute-Task] Context propagator cannot be empty.");
+        }
+        TaskContextPropagator[] current = propagators;
+        for (TaskContextPropagator registered : current) {
+            if (registered == propagator) {
+                return;
+            }
+        }
+        TaskContextPropagator[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = propagator;
+        propagators = updated;
+    }
+
+    /**
+     * 移除上下文传递扩展
+     *
+     * @param propagator 上下文传递扩展
+     */
+    public static synchronized void unregister(TaskContextPropagator propagator) {
+        List<TaskContextPropagator> updated = new ArrayList<>(Arrays.asList(propagators));
+        if (updated.remove(propagator)) {
+            propagators = updated.toArray(new TaskContextPropagator[0]);
+        }
+    }
+
+    /**
+     * 已注册的上下文传递扩展
+     */
+    public static List<TaskContextPropagator> getPropagators() {
+        return Collections.unmodifiableList(Arrays.asList(propagators));
+    }
+
+    /**
+     * 在当前线程中捕获所有上下文
+     *
+     * @return 上下文快照
+     */
+    static TaskContextSnapshot capture() {
+        TaskContextPropagator[] current = propagators;
+        if (current.length == 0) {
+            return TaskContextSnapshot.EMPTY;
+        }
+        Object[] values = new Object[current.length];
+        for (int i = 0; i < current.length; i++) {
+            values[i] = current[i].capture();
+        }
+        return new TaskContextSnapshot(current, values);
+    }
+
+    private static TaskContextPropagator[] load() {
+        List<TaskContextPropagator> loaded = new ArrayList<>();
+        for (TaskContextPropagator propagator : ServiceLoader.load(TaskContextPropagator.class, TaskContexts.class.getClassLoader())) {
+            loaded.add(propagator);
+        }
+        return loaded.toArray(new TaskContextPropagator[0]);
+    }
+}
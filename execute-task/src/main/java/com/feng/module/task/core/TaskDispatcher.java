@@ -0,0 +1,103 @@
+package com.feng.module.task.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 异步转交任务到线程池
+ * 用于时间轮到期回调、完成回调和异步执行等不能在当前线程中执行任务的场景:
+ * 线程池使用CallerRunsPolicy时,拒绝处理会在提交线程中直接执行任务(例如在时间轮线程中执行业务方法),
+ * 这里识别出在提交过程中被同步执行的情况,不执行任务,按线程池拒绝处理,由调用方以拒绝失败结束任务
+ */
+final class TaskDispatcher {
+
+    // 私有化
+    private TaskDispatcher() {
+    }
+
+    /**
+     * 提交任务到线程池
+     *
+     * @param threadPool 线程池(为空时使用默认异步线程池)
+     * @param task       任务
+     * @return 线程池拒绝(或要求在提交线程中执行)时返回拒绝异常,提交成功返回null
+     */
+    static RejectedExecutionException dispatch(ExecutorService threadPool, Runnable task) {
+        if (threadPool == null) {
+            CompletableFuture.runAsync(task);
+            return null;
+        }
+        Handoff handoff = new Handoff(task);
+        try {
+            threadPool.execute(handoff);
+        } catch (RejectedExecutionException e) {
+            return e;
+        } finally {
+            handoff.submitter = null;
+        }
+        if (handoff.inline) {
+            return new InlineRejectedExecutionException();
+        }
+        return null;
+    }
+
+    /**
+     * 是否因为线程池要求在提交线程中执行而拒绝(线程池本身未拒绝,调用方可以在当前线程中继续执行)
+     *
+     * @param e {@link #dispatch}返回的拒绝异常
+     * @return 是否要求在提交线程中执行
+     */
+    static boolean isInline(RejectedExecutionException e) {
+        return e instanceof InlineRejectedExecutionException;
+    }
+
+    /**
+     * 获取被转交的任务(线程池中的包装任务返回原任务,其他任务原样返回)
+     *
+     * @param task 线程池中的任务
+     * @return 原任务
+     */
+    static Runnable unwrap(Runnable task) {
+        return task instanceof Handoff ? ((Handoff) task).task : task;
+    }
+
+    /**
+     * 记录提交线程的任务:提交过程中在提交线程中执行时不执行原任务
+     */
+    private static final class Handoff implements Runnable {
+        private final Runnable task;
+        /**
+         * 提交线程(提交结束后清空,之后在任何线程中执行都属于正常执行)
+         */
+        private volatile Thread submitter = Thread.currentThread();
+        /**
+         * 是否在提交过程中被同步执行(只由提交线程读写)
+         */
+        private boolean inline;
+
+        private Handoff(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (submitter == Thread.currentThread()) {
+                inline = true;
+                return;
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * 线程池要求在提交线程中执行时的拒绝异常
+     */
+    private static final class InlineRejectedExecutionException extends RejectedExecutionException {
+        private static final long serialVersionUID = 1L;
+
+        private InlineRejectedExecutionException() {
+            super("[Execute-Task] Thread pool rejected the task: running in the submitting thread is not allowed.");
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.feng.module.task.core;
 
+import com.feng.module.task.cache.TaskCache;
 import com.feng.module.task.model.TaskModel;
 import com.feng.module.task.model.TaskResult;
+import com.feng.module.task.timer.HashedWheelTimer;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * 任务执行器
@@ -20,24 +25,60 @@ public class TaskExecutor<R> {
      * 任务模型
      */
     private final TaskModel<R> taskModel;
+    /**
+     * 结果缓存(为空不缓存)
+     */
+    private final TaskCache taskCache;
 
     /**
      * 构造方法
      *
      * @param taskModel 任务模型
+     * @param taskCache 结果缓存
      */
-    private TaskExecutor(TaskModel<R> taskModel) {
+    private TaskExecutor(TaskModel<R> taskModel, TaskCache taskCache) {
         this.taskModel = taskModel;
+        this.taskCache = taskCache;
     }
 
     /**
-     * 修改参数,生成新的任务
+     * 修改参数,生成新的任务(每次生成新的任务和任务模型;同一个任务反复执行时使用{@link #executeWith(Object)}等固定参数个数的方法)
      *
      * @param args 需要变更的参数
      * @return 新任务对象
      */
     public TaskExecutor<R> withArgs(Object... args) {
-        return TaskExecutor.init(taskModel.withArgs(args));
+        return new TaskExecutor<>(taskModel.withArgs(args), taskCache);
+    }
+
+    /**
+     * 获取任务模型
+     */
+    TaskModel<R> getTaskModel() {
+        return taskModel;
+    }
+
+    /**
+     * 使用结果缓存,生成新的任务(相同方法和参数的执行结果从缓存获取)
+     * 只支持执行对象和方法封装的任务:lambda封装的任务每次初始化都生成新的调用器,无法命中缓存,
+     * 需要缓存时通过{@link TaskGenerate#withCache(TaskCache)}复用同一个调用器
+     *
+     * @param taskCache 结果缓存
+     * @return 新任务对象
+     * @throws IllegalArgumentException lambda封装的任务
+     */
+    public TaskExecutor<R> withCache(TaskCache taskCache) {
+        if (taskCache != null && taskModel.getMethod() == null) {
+            throw new IllegalArgumentException("[Execute-Task] Result cache requires a bean method task. Use TaskGenerate.withCache for lambda tasks.");
+        }
+        return cached(taskCache);
+    }
+
+    /**
+     * 使用结果缓存,生成新的任务(不校验任务类型,由复用同一个调用器的{@link TaskGenerate}使用)
+     */
+    TaskExecutor<R> cached(TaskCache taskCache) {
+        return new TaskExecutor<>(taskModel, taskCache);
     }
 
     /**
@@ -46,7 +87,101 @@ public class TaskExecutor<R> {
      * @return 任务执行结果
      */
     public R execute() {
-        return taskModel.execute();
+        return taskCache == null ? taskModel.execute() : taskCache.execute(taskModel);
+    }
+
+    /**
+     * 使用指定参数直接执行(不生成新的任务、任务模型和参数数组),用于反复执行同一个方法的场景
+     * 与{@link #withArgs(Object...)}不同,参数不会被展开:executeWith(array)把数组整体作为第一个参数
+     *
+     * @return 任务执行结果
+     */
+    public R executeWith() {
+        return taskCache == null ? taskModel.executeWith() : taskCache.execute(taskModel.withArgs());
+    }
+
+    public R executeWith(Object arg1) {
+        return taskCache == null ? taskModel.executeWith(arg1) : taskCache.execute(taskModel.withArgs(new Object[]{arg1}));
+    }
+
+    public R executeWith(Object arg1, Object arg2) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2) : taskCache.execute(taskModel.withArgs(arg1, arg2));
+    }
+
+    public R executeWith(Object arg1, Object arg2, Object arg3) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3) : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3));
+    }
+
+    public R executeWith(Object arg1, Object arg2, Object arg3, Object arg4) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3, arg4)
+                : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3, arg4));
+    }
+
+    public R executeWith(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3, arg4, arg5)
+                : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3, arg4, arg5));
+    }
+
+    /**
+     * 任务执行:失败时按重试策略重试,执行过慢时按对冲策略再执行一份,取先成功的结果
+     *
+     * @param threadPool  线程池(为空时使用默认异步线程池)
+     * @param retryPolicy 重试策略(为空不重试)
+     * @param hedgePolicy 对冲策略(为空不对冲)
+     * @return 任务执行结果(记录执行次数以及结果是否来自对冲执行)
+     */
+    public TaskResult<R> execute(ExecutorService threadPool, TaskRetryPolicy retryPolicy, TaskHedgePolicy hedgePolicy) {
+        return executeAsync(threadPool, retryPolicy, hedgePolicy).join();
+    }
+
+    /**
+     * 任务执行,不阻塞调用线程:失败时按重试策略重试,执行过慢时按对冲策略再执行一份,取先成功的结果
+     *
+     * @param threadPool  线程池(为空时使用默认异步线程池)
+     * @param retryPolicy 重试策略(为空不重试)
+     * @param hedgePolicy 对冲策略(为空不对冲)
+     * @return 任务执行结果
+     */
+    public CompletableFuture<TaskResult<R>> executeAsync(ExecutorService threadPool, TaskRetryPolicy retryPolicy, TaskHedgePolicy hedgePolicy) {
+        return TaskResilientRun.submit(this, threadPool, retryPolicy, hedgePolicy);
+    }
+
+    /**
+     * 延迟执行(由共享时间轮调度,到期后提交到线程池)
+     *
+     * @param threadPool 线程池(为空时使用默认异步线程池)
+     * @param delay      延迟时间
+     * @param unit       时间单位
+     * @return 定时任务
+     */
+    public TaskSchedule<R> schedule(ExecutorService threadPool, long delay, TimeUnit unit) {
+        return TaskSchedule.once(this, threadPool, delay, unit);
+    }
+
+    /**
+     * 按固定频率周期执行(执行失败或取消时停止)
+     *
+     * @param threadPool   线程池(为空时使用默认异步线程池)
+     * @param initialDelay 首次执行的延迟时间
+     * @param period       执行周期
+     * @param unit         时间单位
+     * @return 定时任务
+     */
+    public TaskSchedule<R> scheduleAtFixedRate(ExecutorService threadPool, long initialDelay, long period, TimeUnit unit) {
+        return TaskSchedule.periodic(this, threadPool, initialDelay, period, unit, true);
+    }
+
+    /**
+     * 按固定延迟周期执行(上次执行完成后延迟指定时间再执行,执行失败或取消时停止)
+     *
+     * @param threadPool   线程池(为空时使用默认异步线程池)
+     * @param initialDelay 首次执行的延迟时间
+     * @param delay        两次执行之间的延迟时间
+     * @param unit         时间单位
+     * @return 定时任务
+     */
+    public TaskSchedule<R> scheduleWithFixedDelay(ExecutorService threadPool, long initialDelay, long delay, TimeUnit unit) {
+        return TaskSchedule.periodic(this, threadPool, initialDelay, delay, unit, false);
     }
 
     /**
@@ -57,7 +192,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R> TaskExecutor<R> init(TaskModel<R> taskModel) {
-        return new TaskExecutor<>(taskModel);
+        return new TaskExecutor<>(taskModel, null);
     }
 
     /**
@@ -81,7 +216,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R> TaskExecutor<R> init(TaskPackWithNoArgs<R> taskPack) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack));
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -93,7 +228,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R> TaskExecutor<R> init(TaskPackWithAnyArgs<R> taskPack, Object... args) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), new Object[]{args});
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.ofAnyArgs(taskPack), args));
     }
 
     /**
@@ -105,7 +240,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R, T> TaskExecutor<R> init(TaskPackWith1Args<R, T> taskPack, T value) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), value);
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack), value));
     }
 
     /**
@@ -117,7 +252,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R, T1, T2> TaskExecutor<R> init(TaskPackWith2Args<R, T1, T2> taskPack, T1 value1, T2 value2) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), value1, value2);
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack), value1, value2));
     }
 
     /**
@@ -129,7 +264,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R, T1, T2, T3> TaskExecutor<R> init(TaskPackWith3Args<R, T1, T2, T3> taskPack, T1 value1, T2 value2, T3 value3) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), value1, value2, value3);
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack), value1, value2, value3));
     }
 
     /**
@@ -141,7 +276,7 @@ public class TaskExecutor<R> {
      * @return 任务对象
      */
     public static <R, T1, T2, T3, T4> TaskExecutor<R> init(TaskPackWith4Args<R, T1, T2, T3, T4> taskPack, T1 value1, T2 value2, T3 value3, T4 value4) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), value1, value2, value3, value4);
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack), value1, value2, value3, value4));
     }
 
     /**
@@ -154,66 +289,222 @@ public class TaskExecutor<R> {
      */
 
     public static <R, T1, T2, T3, T4, T5> TaskExecutor<R> init(TaskPackWith5Args<R, T1, T2, T3, T4, T5> taskPack, T1 value1, T2 value2, T3 value3, T4 value4, T5 value5) {
-        return TaskExecutor.init(taskPack, getTaskMethod(taskPack), value1, value2, value3, value4, value5);
+        return TaskExecutor.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack), value1, value2, value3, value4, value5));
     }
 
     /**
-     * 获取Method,通过接口函数获取唯一method
+     * 异步执行多任务并获取结果
      *
-     * @param taskPack 任务接口函数对象
-     * @return 唯一方法execute
+     * @param tasks        任务列表
+     * @param threadPool   线程池
+     * @param timeoutNanos 任务超时时间(纳秒,从提交时开始计算,小于等于0不超时)
+     * @param <R>          任务执行返回类型
+     * @return List<TaskResult<R>>
      */
-    protected static Method getTaskMethod(Object taskPack) {
-        return taskPack.getClass().getDeclaredMethods()[0];
+    private static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeoutNanos) {
+        List<TaskRun<R>> runs = submitTasks(tasks, threadPool, timeoutNanos, true);
+        List<TaskResult<R>> results = new ArrayList<>(runs.size());
+        for (TaskRun<R> run : runs) {
+            results.add(run.future().join());
+        }
+        return results;
     }
 
+    /**
+     * 异步执行多任务,返回所有任务完成后的结果(不阻塞调用线程)
+     * 异步执行时任务不在调用线程中执行:线程池拒绝(包括CallerRunsPolicy)时任务以拒绝失败结束;
+     * 最后完成的任务在时间轮线程中超时时,转交到线程池汇总结果,调用方的后续回调不会在时间轮线程中执行
+     *
+     * @param tasks        任务列表
+     * @param threadPool   线程池
+     * @param timeoutNanos 任务超时时间(纳秒,小于等于0不超时)
+     * @param policy       完成策略
+     * @param callerRuns   是否允许线程池拒绝时在调用线程中执行(同步等待结果时允许)
+     * @param <R>          任务执行返回类型
+     * @return CompletableFuture<List<TaskResult<R>>>
+     */
+    private static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeoutNanos,
+                                                                            TaskCompletionPolicy policy, boolean callerRuns) {
+        policy.validate(tasks.size());
+        List<TaskRun<R>> runs = submitTasks(tasks, threadPool, timeoutNanos, callerRuns);
+        CompletableFuture<List<TaskResult<R>>> allResultsFuture = new CompletableFuture<>();
+        if (runs.isEmpty()) {
+            allResultsFuture.complete(new ArrayList<>());
+            return allResultsFuture;
+        }
+        if (policy.isCancelRemaining()) {
+            cancelWhenDecided(runs, policy);
+        }
+        // 计数代替allOf,最后一个完成的任务负责汇总结果
+        AtomicInteger remaining = new AtomicInteger(runs.size());
+        for (TaskRun<R> run : runs) {
+            run.future().whenComplete((result, e) -> {
+                if (remaining.decrementAndGet() != 0) {
+                    return;
+                }
+                if (callerRuns || !HashedWheelTimer.getInstance().isWorkerThread()) {
+                    completeAll(runs, allResultsFuture);
+                    return;
+                }
+                Runnable completion = () -> completeAll(runs, allResultsFuture);
+                if (TaskDispatcher.dispatch(threadPool, completion) != null) {
+                    // 线程池已满时由默认异步线程池汇总
+                    CompletableFuture.runAsync(completion);
+                }
+            });
+        }
+        return allResultsFuture;
+    }
 
     /**
-     * 异步执行多任务并获取结果
+     * 汇总所有任务的结果
      *
-     * @param tasks      任务列表
-     * @param threadPool 线程池
-     * @param timeout    任务超时时间
-     * @param <R>        任务执行返回类型
-     * @return List<TaskResult<R>>
+     * @param runs             任务执行列表(已全部完成)
+     * @param allResultsFuture 汇总结果
+     * @param <R>              任务执行返回类型
+     */
+    private static <R> void completeAll(List<TaskRun<R>> runs, CompletableFuture<List<TaskResult<R>>> allResultsFuture) {
+        try {
+            List<TaskResult<R>> results = new ArrayList<>(runs.size());
+            for (TaskRun<R> r : runs) {
+                results.add(r.future().join());
+            }
+            allResultsFuture.complete(results);
+        } catch (CompletionException ex) {
+            allResultsFuture.completeExceptionally(ex.getCause());
+        }
+    }
+
+    /**
+     * 策略结果确定后取消剩余任务(已完成的任务不受影响)
+     *
+     * @param runs   任务执行列表
+     * @param policy 完成策略
+     * @param <R>    任务执行返回类型
      */
-    private static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeout) {
-        List<CompletableFuture<TaskResult<R>>> futureList = tasks.stream().map(
-                task -> threadPool == null ? CompletableFuture.supplyAsync(
-                        () -> executeTask(task, timeout)
-                ) : CompletableFuture.supplyAsync(
-                        () -> executeTask(task, timeout), threadPool)
-        ).collect(Collectors.toList());
+    private static <R> void cancelWhenDecided(List<TaskRun<R>> runs, TaskCompletionPolicy policy) {
+        int total = runs.size();
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean decided = new AtomicBoolean();
+        for (TaskRun<R> run : runs) {
+            run.future().whenComplete((result, e) -> {
+                if (decided.get()) {
+                    return;
+                }
+                boolean success = result != null && Boolean.TRUE.equals(result.success);
+                int successCount = success ? successes.incrementAndGet() : successes.get();
+                int failureCount = success ? failures.get() : failures.incrementAndGet();
+                if (policy.isDecided(successCount, failureCount, total) && decided.compareAndSet(false, true)) {
+                    for (TaskRun<R> r : runs) {
+                        r.cancel(TaskFailures.cancelled("[Execute-Task] Task cancelled because the completion policy was decided."), true);
+                    }
+                }
+            });
+        }
+    }
 
-        CompletableFuture<List<TaskResult<R>>> allResultsFuture = CompletableFuture.allOf(
-                futureList.toArray(new CompletableFuture[0])
-        ).thenApply(v -> futureList.stream()
-                .map(CompletableFuture::join) // 无检查异常，安全获取结果
-                .collect(Collectors.toList()));
-        return allResultsFuture.join();
+    /**
+     * 异步执行多任务,按完成顺序在当前线程中回调结果
+     * 调用线程被中断时,取消未完成的任务(结果为{@link CancellationException}失败),并在返回前恢复中断标记
+     *
+     * @param tasks        任务列表
+     * @param threadPool   线程池
+     * @param timeoutNanos 任务超时时间(纳秒,小于等于0不超时)
+     * @param consumer     结果消费者
+     * @param <R>          任务执行返回类型
+     */
+    private static <R> void executeTasksInCompletionOrder(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeoutNanos,
+                                                          TaskResultConsumer<R> consumer) {
+        List<TaskRun<R>> runs = submitTasks(tasks, threadPool, timeoutNanos, true);
+        TaskCompletionQueue completionQueue = new TaskCompletionQueue(runs.size(), Thread.currentThread(),
+                () -> runs.forEach(run -> run.cancel(TaskFailures.cancelled("[Execute-Task] Caller thread was interrupted."), true)));
+        for (int i = 0; i < runs.size(); i++) {
+            int index = i;
+            runs.get(i).future().whenComplete((result, e) -> completionQueue.offer(index));
+        }
+        while (completionQueue.hasNext()) {
+            int index = completionQueue.take();
+            consumer.accept(index, runs.get(index).future().join());
+        }
+        if (completionQueue.isInterrupted()) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
-     * 异步执行多任务并获取结果
+     * 提交多任务到线程池
+     * 超时由共享的时间轮统一处理:到期后中断执行线程,并以{@link TimeoutException}失败结果完成
+     * 当前线程有取消令牌时,超时时间不超过令牌的剩余时间;令牌取消时中断未完成的任务
+     * 提交线程的上下文只捕获一次,所有任务共享
      *
-     * @param task    任务
-     * @param timeout 任务超时时间
-     * @param <R>     任务执行返回类型
-     * @return List<TaskResult<R>>
+     * @param tasks        任务列表
+     * @param threadPool   线程池(为空时使用默认异步线程池)
+     * @param timeoutNanos 任务超时时间(纳秒,小于等于0不超时)
+     * @param callerRuns   是否允许线程池拒绝时在调用线程中执行(不允许时以拒绝失败结束)
+     * @param <R>          任务执行返回类型
+     * @return 任务执行列表(与任务列表顺序一致)
      */
-    private static <R> TaskResult<R> executeTask(TaskExecutor<R> task, long timeout) {
-        R result;
-        try {
-            if (timeout > 0) {
-                // TODO: 先不考虑超时，创建线程池有风险
-                Future<R> taskFuture = Executors.newSingleThreadExecutor().submit(task::execute);
-                result = taskFuture.get(timeout, TimeUnit.MILLISECONDS);
+    private static <R> List<TaskRun<R>> submitTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeoutNanos, boolean callerRuns) {
+        TaskCancellationToken parent = TaskCancellationToken.current();
+        long remainingNanos = parent.remainingNanos();
+        if (remainingNanos != Long.MAX_VALUE && (timeoutNanos <= 0 || remainingNanos < timeoutNanos)) {
+            // 继承调用方剩余的时间
+            timeoutNanos = Math.max(remainingNanos, 1);
+        }
+        TaskCancellationToken token = timeoutNanos > 0 ? parent.child(timeoutNanos) : parent;
+        long taskTimeoutNanos = timeoutNanos;
+        // 上下文每次多任务执行只捕获一次
+        TaskContextSnapshot context = TaskContexts.capture();
+        List<TaskRun<R>> runs = new ArrayList<>(tasks.size());
+        for (TaskExecutor<R> task : tasks) {
+            TaskRun<R> run = new TaskRun<>(task, token, context);
+            if (taskTimeoutNanos > 0) {
+                run.setTimeout(HashedWheelTimer.getInstance().newTimeout(
+                        () -> run.cancel(TaskFailures.timeout(taskTimeoutNanos), true),
+                        taskTimeoutNanos, TimeUnit.NANOSECONDS));
+            }
+            if (callerRuns) {
+                try {
+                    if (threadPool == null) {
+                        CompletableFuture.runAsync(run);
+                    } else {
+                        threadPool.execute(run);
+                    }
+                } catch (RejectedExecutionException e) {
+                    run.cancel(TaskFailures.rejected(e), false);
+                }
             } else {
-                result = task.execute();
+                RejectedExecutionException rejected = TaskDispatcher.dispatch(threadPool, run);
+                if (rejected != null) {
+                    run.cancel(TaskFailures.rejected(rejected), false);
+                }
             }
-            return TaskResult.success(result);
-        } catch (Exception e) {
-            return TaskResult.fail(null, e);
+            runs.add(run);
+        }
+        if (token.isCancellable() && !runs.isEmpty()) {
+            cancelWithToken(runs, token);
+        }
+        return runs;
+    }
+
+    /**
+     * 令牌取消时中断未完成的任务,所有任务完成后移除监听
+     *
+     * @param runs  任务执行列表
+     * @param token 取消令牌
+     * @param <R>   任务执行返回类型
+     */
+    private static <R> void cancelWithToken(List<TaskRun<R>> runs, TaskCancellationToken token) {
+        Consumer<Exception> listener = reason -> runs.forEach(run -> run.cancel(reason, true));
+        token.addListener(listener);
+        AtomicInteger remaining = new AtomicInteger(runs.size());
+        for (TaskRun<R> run : runs) {
+            run.future().whenComplete((result, e) -> {
+                if (remaining.decrementAndGet() == 0) {
+                    token.removeListener(listener);
+                }
+            });
         }
     }
 
@@ -240,4 +531,183 @@ public class TaskExecutor<R> {
         return executeTasks(tasks, threadPool, 0);
     }
 
+    /**
+     * 异步执行多任务并获取结果(超时的任务会被中断,结果为{@link TimeoutException}失败)
+     *
+     * @param tasks   任务列表
+     * @param timeout 任务超时时间(从提交时开始计算)
+     * @param unit    时间单位
+     * @param <R>     任务执行返回类型
+     * @return List<TaskResult<R>>
+     */
+    public static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, long timeout, TimeUnit unit) {
+        return executeTasks(tasks, null, unit.toNanos(timeout));
+    }
+
+    /**
+     * 异步执行多任务并获取结果(超时的任务会被中断,结果为{@link TimeoutException}失败)
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param timeout    任务超时时间(从提交时开始计算)
+     * @param unit       时间单位
+     * @param <R>        任务执行返回类型
+     * @return List<TaskResult<R>>
+     */
+    public static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeout, TimeUnit unit) {
+        return executeTasks(tasks, threadPool, unit.toNanos(timeout));
+    }
+
+    /**
+     * 异步执行多任务,按完成顺序回调结果(在当前线程中回调,返回时所有结果均已回调)
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param consumer   结果消费者,参数为任务下标和任务结果
+     * @param <R>        任务执行返回类型
+     */
+    public static <R> void executeTasksInCompletionOrder(List<TaskExecutor<R>> tasks, ExecutorService threadPool, TaskResultConsumer<R> consumer) {
+        executeTasksInCompletionOrder(tasks, threadPool, 0, consumer);
+    }
+
+    /**
+     * 异步执行多任务,按完成顺序回调结果(在当前线程中回调,返回时所有结果均已回调)
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param timeout    任务超时时间(从提交时开始计算)
+     * @param unit       时间单位
+     * @param consumer   结果消费者,参数为任务下标和任务结果
+     * @param <R>        任务执行返回类型
+     */
+    public static <R> void executeTasksInCompletionOrder(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeout, TimeUnit unit,
+                                                         TaskResultConsumer<R> consumer) {
+        executeTasksInCompletionOrder(tasks, threadPool, unit.toNanos(timeout), consumer);
+    }
+
+    /**
+     * 异步执行多任务,不阻塞调用线程
+     *
+     * @param tasks 任务列表
+     * @param <R>   任务执行返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks) {
+        return executeTasksAsync(tasks, null, 0, TaskCompletionPolicy.all(), false);
+    }
+
+    /**
+     * 异步执行多任务,不阻塞调用线程
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param <R>        任务执行返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks, ExecutorService threadPool) {
+        return executeTasksAsync(tasks, threadPool, 0, TaskCompletionPolicy.all(), false);
+    }
+
+    /**
+     * 异步执行多任务,不阻塞调用线程(超时的任务会被中断,结果为{@link TimeoutException}失败)
+     *
+     * @param tasks   任务列表
+     * @param timeout 任务超时时间(从提交时开始计算)
+     * @param unit    时间单位
+     * @param <R>     任务执行返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks, long timeout, TimeUnit unit) {
+        return executeTasksAsync(tasks, null, unit.toNanos(timeout), TaskCompletionPolicy.all(), false);
+    }
+
+    /**
+     * 异步执行多任务,不阻塞调用线程(超时的任务会被中断,结果为{@link TimeoutException}失败)
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param timeout    任务超时时间(从提交时开始计算)
+     * @param unit       时间单位
+     * @param <R>        任务执行返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeout, TimeUnit unit) {
+        return executeTasksAsync(tasks, threadPool, unit.toNanos(timeout), TaskCompletionPolicy.all(), false);
+    }
+
+    /**
+     * 按完成策略执行多任务并获取结果
+     * 策略结果确定后取消剩余任务,被取消任务的结果为{@link CancellationException}失败
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param policy     完成策略 例如:{@link TaskCompletionPolicy#firstSuccess()}
+     * @param <R>        任务执行返回类型
+     * @return List<TaskResult<R>>(与任务列表顺序一致)
+     */
+    public static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, TaskCompletionPolicy policy) {
+        return executeTasksAsync(tasks, threadPool, 0, policy, true).join();
+    }
+
+    /**
+     * 按完成策略执行多任务并获取结果(超时的任务会被中断,结果为{@link TimeoutException}失败)
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param timeout    任务超时时间(从提交时开始计算)
+     * @param unit       时间单位
+     * @param policy     完成策略
+     * @param <R>        任务执行返回类型
+     * @return List<TaskResult<R>>(与任务列表顺序一致)
+     */
+    public static <R> List<TaskResult<R>> executeTasks(List<TaskExecutor<R>> tasks, ExecutorService threadPool, long timeout, TimeUnit unit,
+                                                       TaskCompletionPolicy policy) {
+        return executeTasksAsync(tasks, threadPool, unit.toNanos(timeout), policy, true).join();
+    }
+
+    /**
+     * 按完成策略执行多任务,不阻塞调用线程
+     *
+     * @param tasks      任务列表
+     * @param threadPool 线程池
+     * @param policy     完成策略
+     * @param <R>        任务执行返回类型
+     * @return 所有任务完成或被取消后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksAsync(List<TaskExecutor<R>> tasks, ExecutorService threadPool, TaskCompletionPolicy policy) {
+        return executeTasksAsync(tasks, threadPool, 0, policy, false);
+    }
+
+    /**
+     * 分批执行多任务(适合任务数量很大的场景)
+     * 最多占用parallelism个线程,每个线程每次领取chunkSize个任务顺序执行,不为每个任务创建Future
+     * 线程池拒绝所有工作线程时在调用线程中执行
+     *
+     * @param tasks       任务列表
+     * @param threadPool  线程池
+     * @param parallelism 最大并行度
+     * @param chunkSize   每次领取的任务数
+     * @param <R>         任务执行返回类型
+     * @return List<TaskResult<R>>(与任务列表顺序一致)
+     */
+    public static <R> List<TaskResult<R>> executeTasksInBatch(List<TaskExecutor<R>> tasks, ExecutorService threadPool, int parallelism, int chunkSize) {
+        return TaskBatch.submit(tasks, threadPool, parallelism, chunkSize, true).join();
+    }
+
+    /**
+     * 分批执行多任务,不阻塞调用线程
+     * 任务不会在调用线程中执行:线程池拒绝所有工作线程时,任务以拒绝失败结束
+     *
+     * @param tasks       任务列表
+     * @param threadPool  线程池
+     * @param parallelism 最大并行度
+     * @param chunkSize   每次领取的任务数
+     * @param <R>         任务执行返回类型
+     * @return 所有任务完成后的结果(与任务列表顺序一致)
+     */
+    public static <R> CompletableFuture<List<TaskResult<R>>> executeTasksInBatchAsync(List<TaskExecutor<R>> tasks, ExecutorService threadPool,
+                                                                                   int parallelism, int chunkSize) {
+        return TaskBatch.submit(tasks, threadPool, parallelism, chunkSize, false);
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 任务失败异常
+ * 精简失败模式下返回预先创建的不记录堆栈的共享异常,否则返回包含详细信息的异常
+ */
+final class TaskFailures {
+
+    // 私有化
+    private TaskFailures() {
+    }
+
+    /**
+     * 执行超时
+     *
+     * @param timeoutNanos 超时时间(纳秒)
+     */
+    static Exception timeout(long timeoutNanos) {
+        if (TaskException.isCompact()) {
+            return TaskException.TIMEOUT;
+        }
+        return new TimeoutException(String.format("[Execute-Task] Task execution timed out after %d ms.", TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+    }
+
+    /**
+     * 被取消
+     *
+     * @param message 取消原因
+     */
+    static Exception cancelled(String message) {
+        return TaskException.isCompact() ? TaskException.CANCELLED : new CancellationException(message);
+    }
+
+    /**
+     * 取消令牌到达截止时间
+     */
+    static Exception deadlineExceeded() {
+        return TaskException.isCompact() ? TaskException.TIMEOUT : new TimeoutException("[Execute-Task] Task deadline exceeded.");
+    }
+
+    /**
+     * 依赖图中上游任务失败,跳过下游任务
+     *
+     * @param id         跳过的任务
+     * @param upstreamId 失败的上游任务
+     */
+    static Exception skipped(String id, String upstreamId) {
+        if (TaskException.isCompact()) {
+            return TaskException.CANCELLED;
+        }
+        return new CancellationException(String.format("[Execute-Task] Task '%s' skipped because upstream task '%s' failed.", id, upstreamId));
+    }
+
+    /**
+     * 线程池拒绝执行
+     *
+     * @param e 线程池抛出的异常
+     */
+    static Exception rejected(RejectedExecutionException e) {
+        return TaskException.isCompact() ? TaskException.REJECTED : e;
+    }
+}
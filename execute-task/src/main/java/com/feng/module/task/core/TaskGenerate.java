@@ -1,5 +1,6 @@
 package com.feng.module.task.core;
 
+import com.feng.module.task.cache.TaskCache;
 import com.feng.module.task.model.TaskModel;
 
 import java.lang.reflect.Method;
@@ -16,6 +17,10 @@ public class TaskGenerate<R> {
      * 任务模型
      */
     private final TaskModel<R> taskModel;
+    /**
+     * 结果缓存(为空不缓存)
+     */
+    private final TaskCache taskCache;
 
     /**
      * 构造方法
@@ -23,7 +28,12 @@ public class TaskGenerate<R> {
      * @param taskModel 任务模型
      */
     public TaskGenerate(TaskModel<R> taskModel) {
+        this(taskModel, null);
+    }
+
+    private TaskGenerate(TaskModel<R> taskModel, TaskCache taskCache) {
         this.taskModel = taskModel;
+        this.taskCache = taskCache;
     }
 
     /**
@@ -33,7 +43,58 @@ public class TaskGenerate<R> {
      * @return TaskExecutor任务对象
      */
     public TaskExecutor<R> withArgs(Object... args) {
-        return TaskExecutor.init(taskModel.withArgs(args));
+        TaskExecutor<R> taskExecutor = TaskExecutor.init(taskModel.withArgs(args));
+        return taskCache == null ? taskExecutor : taskExecutor.cached(taskCache);
+    }
+
+    /**
+     * 直接执行(复用已链接的调用器,不生成TaskExecutor和任务模型,不分配参数数组)
+     * 适合在循环中反复执行同一个方法;使用结果缓存时仍按参数生成任务模型
+     *
+     * @return 执行结果
+     */
+    public R execute() {
+        return taskCache == null ? taskModel.executeWith() : taskCache.execute(taskModel.withArgs());
+    }
+
+    /**
+     * 直接执行1参数方法
+     * arg1整体作为方法的第一个参数:传入Object[]时不会像{@link #withArgs(Object...)}那样展开为多个参数
+     *
+     * @param arg1 方法参数
+     * @return 执行结果
+     */
+    public R execute(Object arg1) {
+        return taskCache == null ? taskModel.executeWith(arg1) : taskCache.execute(taskModel.withArgs(new Object[]{arg1}));
+    }
+
+    public R execute(Object arg1, Object arg2) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2) : taskCache.execute(taskModel.withArgs(arg1, arg2));
+    }
+
+    public R execute(Object arg1, Object arg2, Object arg3) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3) : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3));
+    }
+
+    public R execute(Object arg1, Object arg2, Object arg3, Object arg4) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3, arg4)
+                : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3, arg4));
+    }
+
+    public R execute(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        return taskCache == null ? taskModel.executeWith(arg1, arg2, arg3, arg4, arg5)
+                : taskCache.execute(taskModel.withArgs(arg1, arg2, arg3, arg4, arg5));
+    }
+
+    /**
+     * 使用结果缓存,生成新的方法封装器(生成的任务都使用该缓存)
+     * lambda封装的任务以调用器实例为缓存key,需复用同一个方法封装器执行才能命中
+     *
+     * @param taskCache 结果缓存
+     * @return 新方法封装器
+     */
+    public TaskGenerate<R> withCache(TaskCache taskCache) {
+        return new TaskGenerate<>(taskModel, taskCache);
     }
 
     /**
@@ -67,7 +128,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R> TaskGenerate<R> init(TaskPackWithNoArgs<R> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -78,7 +139,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R> TaskGenerate<R> init(TaskPackWithAnyArgs<R> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.ofAnyArgs(taskPack)));
     }
 
     /**
@@ -89,7 +150,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R, T> TaskGenerate<R> init(TaskPackWith1Args<R, T> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -100,7 +161,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R, T1, T2> TaskGenerate<R> init(TaskPackWith2Args<R, T1, T2> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -111,7 +172,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R, T1, T2, T3> TaskGenerate<R> init(TaskPackWith3Args<R, T1, T2, T3> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -122,7 +183,7 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R, T1, T2, T3, T4> TaskGenerate<R> init(TaskPackWith4Args<R, T1, T2, T3, T4> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 
     /**
@@ -133,6 +194,6 @@ public class TaskGenerate<R> {
      * @return 任务对象
      */
     public static <R, T1, T2, T3, T4, T5> TaskGenerate<R> init(TaskPackWith5Args<R, T1, T2, T3, T4, T5> taskPack) {
-        return TaskGenerate.init(taskPack, TaskExecutor.getTaskMethod(taskPack));
+        return TaskGenerate.init(TaskModel.<R>init(TaskPackInvoker.of(taskPack)));
     }
 }
@@ -0,0 +1,328 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskGraphResult;
+import com.feng.module.task.model.TaskResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 依赖图任务
+ * 任务可以声明依赖的任务,依赖任务的结果按声明顺序通过{@link TaskGenerate#withArgs(Object...)}作为参数传入
+ * 执行时所有依赖已完成的任务并行执行;依赖任务失败时,下游任务跳过(结果为{@link CancellationException}失败)
+ * 构建时校验依赖是否存在以及是否有环,构建后的依赖图可以重复执行
+ *
+ * <pre>
+ * TaskGraph graph = TaskGraph.builder()
+ *         .addTask("user", TaskExecutor.init(this::loadUser, userId))
+ *         .addTask("orders", TaskGenerate.init(this::loadOrders), "user")
+ *         .addTask("summary", TaskGenerate.init(this::summary), "user", "orders")
+ *         .build();
+ * TaskGraphResult result = graph.execute(threadPool);
+ * </pre>
+ */
+public class TaskGraph {
+
+    private final String[] ids;
+    /**
+     * 无依赖的任务
+     */
+    private final TaskExecutor<?>[] executors;
+    /**
+     * 有依赖的任务
+     */
+    private final TaskGenerate<?>[] generates;
+    /**
+     * 任务 -> 依赖的任务(按参数顺序)
+     */
+    private final int[][] dependencies;
+    /**
+     * 任务 -> 下游任务
+     */
+    private final int[][] dependents;
+    private final int[] roots;
+
+    private TaskGraph(String[] ids, TaskExecutor<?>[] executors, TaskGenerate<?>[] generates, int[][] dependencies, int[][] dependents, int[] roots) {
+        this.ids = ids;
+        this.executors = executors;
+        this.generates = generates;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+        this.roots = roots;
+    }
+
+    /**
+     * 创建依赖图构建器
+     *
+     * @return Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 执行依赖图并等待所有任务完成
+     *
+     * @param threadPool 线程池(为空时使用默认异步线程池)
+     * @return 依赖图执行结果
+     */
+    public TaskGraphResult execute(ExecutorService threadPool) {
+        return executeAsync(threadPool).join();
+    }
+
+    /**
+     * 执行依赖图,不阻塞调用线程
+     *
+     * @param threadPool 线程池(为空时使用默认异步线程池)
+     * @return 所有任务完成后的结果
+     */
+    public CompletableFuture<TaskGraphResult> executeAsync(ExecutorService threadPool) {
+        return new Execution(threadPool).start();
+    }
+
+    /**
+     * 一次执行的状态
+     */
+    private final class Execution {
+        private final ExecutorService threadPool;
+        /**
+         * 每个任务未完成的依赖数
+         */
+        private final AtomicIntegerArray pending;
+        private final TaskResult<?>[] results;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<TaskGraphResult> future = new CompletableFuture<>();
+        /**
+         * 开始执行时捕获的取消令牌和上下文快照(所有任务共享;下游任务在上游任务的完成线程中提交,不能在提交时捕获)
+         */
+        private final TaskCancellationToken token = TaskCancellationToken.current();
+        private final TaskContextSnapshot context = TaskContexts.capture();
+
+        private Execution(ExecutorService threadPool) {
+            this.threadPool = threadPool;
+            this.pending = new AtomicIntegerArray(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                pending.set(i, dependencies[i].length);
+            }
+            this.results = new TaskResult<?>[ids.length];
+            this.remaining = new AtomicInteger(ids.length);
+        }
+
+        private CompletableFuture<TaskGraphResult> start() {
+            if (ids.length == 0) {
+                future.complete(TaskGraphResult.init(ids, results));
+            }
+            for (int root : roots) {
+                TaskResult<?> result = submit(root);
+                if (result != null) {
+                    complete(root, result);
+                }
+            }
+            return future;
+        }
+
+        /**
+         * 提交依赖已全部完成的任务
+         * 任务通过{@link TaskDispatcher}转交到线程池,不在提交线程(调用线程或上游任务的完成线程)中执行
+         *
+         * @return 任务未执行时的结果(上游任务失败跳过,或线程池拒绝),提交成功返回null
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private TaskResult<?> submit(int node) {
+            int[] inputs = dependencies[node];
+            Object[] args = new Object[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                TaskResult<?> input = results[inputs[i]];
+                if (!Boolean.TRUE.equals(input.success)) {
+                    return TaskResult.fail(null, TaskFailures.skipped(ids[node], ids[inputs[i]]));
+                }
+                args[i] = input.getResult();
+            }
+            TaskExecutor<?> task = generates[node] != null ? generates[node].withArgs(args) : executors[node];
+            TaskRun<?> run = new TaskRun(task, token, context);
+            run.future().whenComplete((result, e) ->
+                    complete(node, result != null ? result : TaskResult.fail(null, new CompletionException(e))));
+            // 被拒绝的任务不会执行,完成回调也不会触发,由调用方直接以拒绝失败结束
+            RejectedExecutionException rejected = TaskDispatcher.dispatch(threadPool, run);
+            return rejected == null ? null : TaskResult.fail(null, TaskFailures.rejected(rejected));
+        }
+
+        /**
+         * 任务完成,提交依赖已全部完成的下游任务
+         * 跳过和被拒绝的下游任务放入工作队列继续处理,不递归,长依赖链上的级联跳过不会导致栈溢出
+         */
+        private void complete(int node, TaskResult<?> result) {
+            results[node] = result;
+            Deque<Integer> finished = new ArrayDeque<>();
+            finished.add(node);
+            Integer current;
+            while ((current = finished.poll()) != null) {
+                for (int dependent : dependents[current]) {
+                    if (pending.decrementAndGet(dependent) == 0) {
+                        TaskResult<?> dependentResult = submit(dependent);
+                        if (dependentResult != null) {
+                            results[dependent] = dependentResult;
+                            finished.add(dependent);
+                        }
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    future.complete(TaskGraphResult.init(ids, results));
+                }
+            }
+        }
+    }
+
+    /**
+     * 依赖图构建器
+     */
+    public static class Builder {
+        private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加无依赖的任务
+         *
+         * @param id   任务id
+         * @param task 任务
+         * @return Builder
+         */
+        public Builder addTask(String id, TaskExecutor<?> task) {
+            if (task == null) {
+                throw new IllegalArgumentException("[Execute-Task] Task cannot be empty.");
+            }
+            return addNode(new Node(id, task, null, new String[0]));
+        }
+
+        /**
+         * 添加有依赖的任务,依赖任务的结果按声明顺序作为参数传入
+         *
+         * @param id        任务id
+         * @param task      任务
+         * @param dependsOn 依赖的任务id
+         * @return Builder
+         */
+        public Builder addTask(String id, TaskGenerate<?> task, String... dependsOn) {
+            if (task == null) {
+                throw new IllegalArgumentException("[Execute-Task] Task cannot be empty.");
+            }
+            return addNode(new Node(id, null, task, dependsOn == null ? new String[0] : dependsOn.clone()));
+        }
+
+        private Builder addNode(Node node) {
+            if (node.id == null) {
+                throw new IllegalArgumentException("[Execute-Task] Task id cannot be empty.");
+            }
+            if (nodes.putIfAbsent(node.id, node) != null) {
+                throw new IllegalArgumentException(String.format("[Execute-Task] Duplicate task id '%s'.", node.id));
+            }
+            return this;
+        }
+
+        /**
+         * 构建依赖图:校验依赖的任务是否存在,并检测环
+         *
+         * @return TaskGraph
+         * @throws IllegalArgumentException 依赖的任务不存在或存在环
+         */
+        public TaskGraph build() {
+            int size = nodes.size();
+            String[] ids = new String[size];
+            TaskExecutor<?>[] executors = new TaskExecutor<?>[size];
+            TaskGenerate<?>[] generates = new TaskGenerate<?>[size];
+            Map<String, Integer> indexes = new HashMap<>(size * 2);
+            int index = 0;
+            for (Node node : nodes.values()) {
+                ids[index] = node.id;
+                executors[index] = node.executor;
+                generates[index] = node.generate;
+                indexes.put(node.id, index++);
+            }
+            int[][] dependencies = new int[size][];
+            List<List<Integer>> dependentList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                dependentList.add(new ArrayList<>());
+            }
+            index = 0;
+            for (Node node : nodes.values()) {
+                dependencies[index] = new int[node.dependsOn.length];
+                for (int i = 0; i < node.dependsOn.length; i++) {
+                    Integer dependency = indexes.get(node.dependsOn[i]);
+                    if (dependency == null) {
+                        throw new IllegalArgumentException(String.format("[Execute-Task] Task '%s' depends on unknown task '%s'.", node.id, node.dependsOn[i]));
+                    }
+                    dependencies[index][i] = dependency;
+                    dependentList.get(dependency).add(index);
+                }
+                index++;
+            }
+            int[][] dependents = new int[size][];
+            for (int i = 0; i < size; i++) {
+                dependents[i] = dependentList.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+            // 拓扑排序检测环
+            int[] inDegree = new int[size];
+            Deque<Integer> ready = new ArrayDeque<>();
+            List<Integer> roots = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                inDegree[i] = dependencies[i].length;
+                if (inDegree[i] == 0) {
+                    ready.add(i);
+                    roots.add(i);
+                }
+            }
+            int visited = 0;
+            while (!ready.isEmpty()) {
+                int node = ready.poll();
+                visited++;
+                for (int dependent : dependents[node]) {
+                    if (--inDegree[dependent] == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            if (visited != size) {
+                List<String> cycle = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    if (inDegree[i] > 0) {
+                        cycle.add(ids[i]);
+                    }
+                }
+                throw new IllegalArgumentException(String.format("[Execute-Task] Task graph contains a cycle among tasks %s.", cycle));
+            }
+            return new TaskGraph(ids, executors, generates, dependencies, dependents,
+                    roots.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * 构建中的任务节点
+     */
+    private static class Node {
+        final String id;
+        final TaskExecutor<?> executor;
+        final TaskGenerate<?> generate;
+        final String[] dependsOn;
+
+        Node(String id, TaskExecutor<?> executor, TaskGenerate<?> generate, String[] dependsOn) {
+            this.id = id;
+            this.executor = executor;
+            this.generate = generate;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.feng.module.task.core;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 任务对冲策略
+ * 任务执行超过对冲延迟仍未完成时,再执行一份相同的任务,取先完成的结果,另一份被取消
+ * 对冲延迟可以固定,也可以取最近成功执行耗时的分位数(样本不足时使用初始延迟)
+ * 分位数策略会记录耗时样本,同一类任务应复用同一个策略对象
+ */
+public final class TaskHedgePolicy {
+
+    /**
+     * 耗时样本数
+     */
+    private static final int SAMPLE_SIZE = 256;
+    /**
+     * 每记录多少个样本重新计算一次分位数
+     */
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    /**
+     * 分位数(小于等于0表示固定延迟)
+     */
+    private final double percentile;
+    private final AtomicLongArray samples;
+    private final AtomicInteger sampleCount;
+    private volatile long delayNanos;
+
+    private TaskHedgePolicy(double percentile, long delayNanos) {
+        this.percentile = percentile;
+        this.delayNanos = delayNanos;
+        this.samples = percentile > 0 ? new AtomicLongArray(SAMPLE_SIZE) : null;
+        this.sampleCount = percentile > 0 ? new AtomicInteger() : null;
+    }
+
+    /**
+     * 固定延迟对冲
+     *
+     * @param delay 对冲延迟
+     * @param unit  时间单位
+     * @return 对冲策略
+     */
+    public static TaskHedgePolicy afterDelay(long delay, TimeUnit unit) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("[Execute-Task] Hedge delay cannot be negative.");
+        }
+        return new TaskHedgePolicy(0, unit.toNanos(delay));
+    }
+
+    /**
+     * 按最近成功执行耗时的分位数对冲 例如:percentile(0.95, 100, TimeUnit.MILLISECONDS)
+     *
+     * @param percentile   分位数(0,1)
+     * @param initialDelay 样本不足时的对冲延迟
+     * @param unit         时间单位
+     * @return 对冲策略
+     */
+    public static TaskHedgePolicy percentile(double percentile, long initialDelay, TimeUnit unit) {
+        if (!(percentile > 0 && percentile < 1)) {
+            throw new IllegalArgumentException("[Execute-Task] Hedge percentile must be between 0 and 1.");
+        }
+        if (initialDelay < 0) {
+            throw new IllegalArgumentException("[Execute-Task] Hedge delay cannot be negative.");
+        }
+        return new TaskHedgePolicy(percentile, unit.toNanos(initialDelay));
+    }
+
+    /**
+     * 当前对冲延迟(纳秒)
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * 记录一次成功执行的耗时
+     *
+     * @param elapsedNanos 耗时(纳秒)
+     */
+    void record(long elapsedNanos) {
+        if (samples == null) {
+            return;
+        }
+        int count = sampleCount.incrementAndGet();
+        samples.set((count - 1) & (SAMPLE_SIZE - 1), elapsedNanos);
+        if (count != 0 && (count & (RECOMPUTE_INTERVAL - 1)) == 0) {
+            // 计数溢出后样本已写满
+            int size = count > 0 && count < SAMPLE_SIZE ? count : SAMPLE_SIZE;
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            delayNanos = sorted[Math.min(size - 1, (int) (percentile * size))];
+        }
+    }
+}
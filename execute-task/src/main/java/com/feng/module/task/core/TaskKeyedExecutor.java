@@ -0,0 +1,182 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按key串行的任务执行器
+ * 相同key的任务按提交顺序依次执行,不同key的任务在共享线程池中并行执行;不为每个key固定线程
+ * 每个key维护一个无锁队列,同一时刻最多只有一个线程在执行该key的任务;队列执行完后自动移除
+ * 提交和完成只通过CAS修改队列的待完成计数,不对映射加锁(不使用compute/computeIfPresent)
+ *
+ * <pre>
+ * TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+ * keyedExecutor.submit(orderId, TaskExecutor.init(this::pay, orderId));
+ * keyedExecutor.submit(orderId, TaskExecutor.init(this::ship, orderId));
+ * </pre>
+ */
+public final class TaskKeyedExecutor {
+
+    /**
+     * 单个key连续执行的最大任务数,超过后重新提交到线程池,避免热点key长期占用线程
+     */
+    private static final int MAX_DRAIN_BATCH = 64;
+
+    private final ExecutorService threadPool;
+    private final ConcurrentMap<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    private TaskKeyedExecutor(ExecutorService threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * 初始化按key串行的任务执行器
+     *
+     * @param threadPool 共享线程池
+     * @return 执行器
+     */
+    public static TaskKeyedExecutor init(ExecutorService threadPool) {
+        if (threadPool == null) {
+            throw new IllegalArgumentException("[Execute-Task] Thread pool cannot be empty.");
+        }
+        return new TaskKeyedExecutor(threadPool);
+    }
+
+    /**
+     * 提交任务(相同key的任务按提交顺序执行)
+     * 线程池拒绝执行时,该key当前排队的任务都以RejectedExecutionException失败
+     *
+     * @param key  串行key(按equals/hashCode区分)
+     * @param task 任务
+     * @param <R>  任务返回类型
+     * @return 任务结果
+     */
+    public <R> CompletableFuture<TaskResult<R>> submit(Object key, TaskExecutor<R> task) {
+        if (key == null || task == null) {
+            throw new IllegalArgumentException("[Execute-Task] Key and task cannot be empty.");
+        }
+        TaskRun<R> run = new TaskRun<>(task);
+        for (; ; ) {
+            KeyQueue queue = queues.get(key);
+            if (queue == null) {
+                KeyQueue created = new KeyQueue(key);
+                queue = queues.putIfAbsent(key, created);
+                if (queue == null) {
+                    queue = created;
+                }
+            }
+            int pending = queue.pending.get();
+            if (pending < 0) {
+                // 队列已关闭:帮助移除后重试,由新队列接收任务
+                queues.remove(key, queue);
+                continue;
+            }
+            // 先计数再入队:计数成功后队列不会关闭,任务一定会被消费
+            if (queue.pending.compareAndSet(pending, pending + 1)) {
+                queue.tasks.offer(run);
+                if (pending == 0) {
+                    schedule(queue);
+                }
+                return run.future();
+            }
+        }
+    }
+
+    /**
+     * 当前有任务排队或执行中的key数
+     */
+    public int getActiveKeyCount() {
+        return queues.size();
+    }
+
+    private void schedule(KeyQueue queue) {
+        try {
+            threadPool.execute(queue);
+        } catch (RejectedExecutionException e) {
+            queue.reject(e);
+        }
+    }
+
+    /**
+     * 单个key的任务队列
+     * pending为已计数未完成的任务数,-1表示队列已关闭(不再接收任务,等待从映射中移除);同一时刻只有一个线程消费tasks
+     */
+    private final class KeyQueue implements Runnable {
+        private final Object key;
+        private final Queue<TaskRun<?>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private KeyQueue(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            for (; ; ) {
+                for (int i = 0; i < MAX_DRAIN_BATCH; i++) {
+                    next().run();
+                    if (!completeOne()) {
+                        return;
+                    }
+                }
+                // 重新提交到线程池;线程池要求在当前线程中执行时(CallerRunsPolicy)在当前栈帧中继续执行,不递归
+                RejectedExecutionException e = TaskDispatcher.dispatch(threadPool, this);
+                if (e == null) {
+                    return;
+                }
+                if (!TaskDispatcher.isInline(e)) {
+                    reject(e);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 线程池拒绝执行:当前排队的任务都以失败结束
+         */
+        private void reject(RejectedExecutionException e) {
+            do {
+                next().cancel(TaskFailures.rejected(e), false);
+            } while (completeOne());
+        }
+
+        /**
+         * 取出下一个任务
+         * 提交线程计数后、入队前队列可能暂时为空,此时让出CPU等待入队
+         */
+        private TaskRun<?> next() {
+            TaskRun<?> run;
+            while ((run = tasks.poll()) == null) {
+                Thread.yield();
+            }
+            return run;
+        }
+
+        /**
+         * 完成一个任务
+         *
+         * @return 是否还有待执行的任务(没有时关闭队列并从映射中移除)
+         */
+        private boolean completeOne() {
+            for (; ; ) {
+                int count = pending.get();
+                if (count > 1) {
+                    if (pending.compareAndSet(count, count - 1)) {
+                        return true;
+                    }
+                } else if (pending.compareAndSet(count, -1)) {
+                    queues.remove(key, this);
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.feng.module.task.core;
+
+/**
+ * double参数、double返回值的方法封装(参数和返回值不装箱)
+ */
+@FunctionalInterface
+public interface TaskPackDoubleToDouble {
+
+    double excuter(double value) throws Exception;
+}
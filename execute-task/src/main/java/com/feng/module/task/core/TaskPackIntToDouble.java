@@ -0,0 +1,10 @@
+package com.feng.module.task.core;
+
+/**
+ * int参数、double返回值的方法封装(参数和返回值不装箱)
+ */
+@FunctionalInterface
+public interface TaskPackIntToDouble {
+
+    double excuter(int value) throws Exception;
+}
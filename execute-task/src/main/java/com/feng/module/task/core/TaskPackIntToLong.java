@@ -0,0 +1,10 @@
+package com.feng.module.task.core;
+
+/**
+ * int参数、long返回值的方法封装(参数和返回值不装箱)
+ */
+@FunctionalInterface
+public interface TaskPackIntToLong {
+
+    long excuter(int value) throws Exception;
+}
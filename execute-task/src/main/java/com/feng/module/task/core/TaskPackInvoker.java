@@ -0,0 +1,197 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.invoker.TaskInvoker;
+import com.feng.module.task.invoker.TaskInvokers;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 函数接口任务调用器
+ * 直接调用TaskPackWithNArgs的excuter方法,不经过反射
+ * 参数类型在函数接口的实现中转换,类型不匹配时抛出的ClassCastException转换为IllegalArgumentException,与参数个数校验失败一致
+ */
+abstract class TaskPackInvoker implements TaskInvoker {
+
+    private final int parameterCount;
+    private final Object taskPack;
+
+    private TaskPackInvoker(int parameterCount, Object taskPack) {
+        this.parameterCount = parameterCount;
+        this.taskPack = taskPack;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return taskPack.getClass();
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws InvocationTargetException {
+        try {
+            return call(args);
+        } catch (ClassCastException e) {
+            if (parameterCount > 0) {
+                throw argumentTypeMismatch(e);
+            }
+            throw TaskInvokers.invocationFailure(e);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    /**
+     * 参数类型与函数接口声明的类型不一致
+     *
+     * @param e 参数类型转换失败的异常
+     * @return IllegalArgumentException
+     */
+    static IllegalArgumentException argumentTypeMismatch(ClassCastException e) {
+        return new IllegalArgumentException("[Execute-Task] argument type mismatch: " + e.getMessage(), e);
+    }
+
+    /**
+     * 调用函数接口
+     *
+     * @param args 执行参数(参数个数已校验)
+     * @return 执行结果
+     * @throws Exception 业务异常
+     */
+    abstract Object call(Object[] args) throws Exception;
+
+    static <R> TaskInvoker of(TaskPackWithNoArgs<R> taskPack) {
+        return new TaskPackInvoker(0, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter();
+            }
+
+            @Override
+            public Object invoke0() throws InvocationTargetException {
+                try {
+                    return taskPack.excuter();
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+
+    static <R> TaskInvoker ofAnyArgs(TaskPackWithAnyArgs<R> taskPack) {
+        return new TaskPackInvoker(ANY_PARAMETER_COUNT, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter(args);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, T> TaskInvoker of(TaskPackWith1Args<R, T> taskPack) {
+        return new TaskPackInvoker(1, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter((T) args[0]);
+            }
+
+            @Override
+            public Object invoke1(Object arg1) throws InvocationTargetException {
+                try {
+                    return taskPack.excuter((T) arg1);
+                } catch (ClassCastException e) {
+                    throw argumentTypeMismatch(e);
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, T1, T2> TaskInvoker of(TaskPackWith2Args<R, T1, T2> taskPack) {
+        return new TaskPackInvoker(2, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter((T1) args[0], (T2) args[1]);
+            }
+
+            @Override
+            public Object invoke2(Object arg1, Object arg2) throws InvocationTargetException {
+                try {
+                    return taskPack.excuter((T1) arg1, (T2) arg2);
+                } catch (ClassCastException e) {
+                    throw argumentTypeMismatch(e);
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, T1, T2, T3> TaskInvoker of(TaskPackWith3Args<R, T1, T2, T3> taskPack) {
+        return new TaskPackInvoker(3, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter((T1) args[0], (T2) args[1], (T3) args[2]);
+            }
+
+            @Override
+            public Object invoke3(Object arg1, Object arg2, Object arg3) throws InvocationTargetException {
+                try {
+                    return taskPack.excuter((T1) arg1, (T2) arg2, (T3) arg3);
+                } catch (ClassCastException e) {
+                    throw argumentTypeMismatch(e);
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, T1, T2, T3, T4> TaskInvoker of(TaskPackWith4Args<R, T1, T2, T3, T4> taskPack) {
+        return new TaskPackInvoker(4, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3]);
+            }
+
+            @Override
+            public Object invoke4(Object arg1, Object arg2, Object arg3, Object arg4) throws InvocationTargetException {
+                try {
+                    return taskPack.excuter((T1) arg1, (T2) arg2, (T3) arg3, (T4) arg4);
+                } catch (ClassCastException e) {
+                    throw argumentTypeMismatch(e);
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, T1, T2, T3, T4, T5> TaskInvoker of(TaskPackWith5Args<R, T1, T2, T3, T4, T5> taskPack) {
+        return new TaskPackInvoker(5, taskPack) {
+            @Override
+            Object call(Object[] args) throws Exception {
+                return taskPack.excuter((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4]);
+            }
+
+            @Override
+            public Object invoke5(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) throws InvocationTargetException {
+                try {
+                    return taskPack.excuter((T1) arg1, (T2) arg2, (T3) arg3, (T4) arg4, (T5) arg5);
+                } catch (ClassCastException e) {
+                    throw argumentTypeMismatch(e);
+                } catch (Throwable e) {
+                    throw TaskInvokers.invocationFailure(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.feng.module.task.core;
+
+/**
+ * long参数、int返回值的方法封装(参数和返回值不装箱)
+ */
+@FunctionalInterface
+public interface TaskPackLongToInt {
+
+    int excuter(long value) throws Exception;
+}
@@ -0,0 +1,176 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+import com.feng.module.task.timer.HashedWheelTimer;
+import com.feng.module.task.timer.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带重试和对冲的单任务执行
+ * 每一轮执行一份任务,超过对冲延迟未完成时再执行一份,取先成功的结果并取消另一份;
+ * 一轮中所有副本都失败且异常可重试时,按退避时间在时间轮上调度下一轮;令牌取消或到达截止时间后不再重试
+ *
+ * @param <R> 任务返回类型
+ */
+final class TaskResilientRun<R> {
+
+    private final TaskExecutor<R> task;
+    private final ExecutorService threadPool;
+    private final TaskRetryPolicy retryPolicy;
+    private final TaskHedgePolicy hedgePolicy;
+    /**
+     * 提交时捕获的取消令牌和上下文快照(所有副本共享;对冲副本和重试在时间轮线程中发起,不能在发起时捕获)
+     */
+    private final TaskCancellationToken token = TaskCancellationToken.current();
+    private final TaskContextSnapshot context = TaskContexts.capture();
+    /**
+     * 已执行的副本数(包括重试和对冲)
+     */
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final CompletableFuture<TaskResult<R>> future = new CompletableFuture<>();
+
+    private TaskResilientRun(TaskExecutor<R> task, ExecutorService threadPool, TaskRetryPolicy retryPolicy, TaskHedgePolicy hedgePolicy) {
+        this.task = task;
+        this.threadPool = threadPool;
+        this.retryPolicy = retryPolicy;
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    /**
+     * 提交任务
+     *
+     * @param task        任务
+     * @param threadPool  线程池(为空时使用默认异步线程池)
+     * @param retryPolicy 重试策略(为空不重试)
+     * @param hedgePolicy 对冲策略(为空不对冲)
+     * @param <R>         任务返回类型
+     * @return 任务结果
+     */
+    static <R> CompletableFuture<TaskResult<R>> submit(TaskExecutor<R> task, ExecutorService threadPool,
+                                                       TaskRetryPolicy retryPolicy, TaskHedgePolicy hedgePolicy) {
+        TaskResilientRun<R> resilientRun = new TaskResilientRun<>(task, threadPool, retryPolicy, hedgePolicy);
+        resilientRun.new Round(1).start();
+        return resilientRun.future;
+    }
+
+    /**
+     * 一轮执行(主副本和对冲副本)
+     */
+    private final class Round {
+        private final int round;
+        // 以下字段由Round对象锁保护
+        private final List<TaskRun<R>> copies = new ArrayList<>(2);
+        private int running;
+        private boolean done;
+        private Timeout hedgeTimeout;
+
+        private Round(int round) {
+            this.round = round;
+        }
+
+        private void start() {
+            // 退避期间令牌被取消:不再执行下一轮
+            Exception cancelReason = round > 1 ? token.getCancelReason() : null;
+            if (cancelReason != null) {
+                long now = System.nanoTime();
+                future.complete(TaskResult.<R>fail(null, cancelReason, now, 0, now).withAttempts(attempts.get(), false));
+                return;
+            }
+            launch(false);
+            if (hedgePolicy != null) {
+                Timeout timeout = HashedWheelTimer.getInstance().newTimeout(() -> launch(true),
+                        hedgePolicy.getDelayNanos(), TimeUnit.NANOSECONDS);
+                synchronized (this) {
+                    if (!done) {
+                        hedgeTimeout = timeout;
+                        return;
+                    }
+                }
+                timeout.cancel();
+            }
+        }
+
+        private void launch(boolean hedged) {
+            TaskRun<R> run = new TaskRun<>(task, token, context);
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                copies.add(run);
+                running++;
+            }
+            attempts.incrementAndGet();
+            long startNanos = System.nanoTime();
+            run.future().whenComplete((result, e) -> complete(run, hedged, startNanos, result, e));
+            // 对冲副本和重试在时间轮线程中发起,只转交到线程池,拒绝时本副本以拒绝失败结束
+            RejectedExecutionException rejected = TaskDispatcher.dispatch(threadPool, run);
+            if (rejected != null) {
+                run.cancel(TaskFailures.rejected(rejected), false);
+            }
+        }
+
+        private void complete(TaskRun<R> run, boolean hedged, long startNanos, TaskResult<R> result, Throwable error) {
+            boolean success = result != null && Boolean.TRUE.equals(result.success);
+            List<TaskRun<R>> others;
+            Timeout timeout;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                running--;
+                if (!success && error == null && running > 0) {
+                    // 等待另一份的结果
+                    return;
+                }
+                done = true;
+                others = copies;
+                timeout = hedgeTimeout;
+            }
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            for (TaskRun<R> other : others) {
+                if (other != run) {
+                    other.cancel(TaskFailures.cancelled("[Execute-Task] Task copy cancelled because another copy finished first."), true);
+                }
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+            if (success) {
+                if (hedgePolicy != null) {
+                    hedgePolicy.record(System.nanoTime() - startNanos);
+                }
+            } else if (retryPolicy != null && round < retryPolicy.getMaxAttempts()) {
+                // 调用方已放弃(令牌取消或到达截止时间):令牌导致的失败不重试,直接以令牌的取消原因结束
+                Exception cancelReason = token.getCancelReason();
+                if (cancelReason != null) {
+                    result = TaskResult.fail(null, cancelReason, result.submitNanos, result.startNanos, result.endNanos);
+                } else if (retryPolicy.isRetryable(result.exception)) {
+                    long backoffNanos = retryPolicy.backoffNanos(round);
+                    if (backoffNanos >= token.remainingNanos()) {
+                        // 退避结束时已过截止时间,不再调度下一轮
+                        result = TaskResult.fail(null, TaskFailures.deadlineExceeded(), result.submitNanos, result.startNanos, result.endNanos);
+                    } else {
+                        Round next = new Round(round + 1);
+                        if (backoffNanos <= 0) {
+                            next.start();
+                        } else {
+                            HashedWheelTimer.getInstance().newTimeout(next::start, backoffNanos, TimeUnit.NANOSECONDS);
+                        }
+                        return;
+                    }
+                }
+            }
+            future.complete(result.withAttempts(attempts.get(), success && hedged));
+        }
+    }
+}
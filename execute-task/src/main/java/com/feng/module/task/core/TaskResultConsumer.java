@@ -0,0 +1,21 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+
+/**
+ * 任务结果消费者
+ * 按任务完成顺序接收结果
+ *
+ * @param <R> 任务返回类型
+ */
+@FunctionalInterface
+public interface TaskResultConsumer<R> {
+
+    /**
+     * 接收任务结果
+     *
+     * @param index  任务在任务列表中的下标
+     * @param result 任务结果
+     */
+    void accept(int index, TaskResult<R> result);
+}
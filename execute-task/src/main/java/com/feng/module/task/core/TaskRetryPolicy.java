@@ -0,0 +1,146 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskException;
+import com.feng.module.task.model.TaskFailureCode;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 任务重试策略
+ * 指数退避:第n次重试前等待[0, min(maxDelay, initialDelay * 2^(n-1))]之间的随机时间(全抖动,避免重试同时到达下游)
+ * 只重试指定类型的业务异常(默认所有异常);线程池拒绝(包括准入控制拒绝)说明已经过载,默认不重试,
+ * 需要重试时通过{@link #retryOn(Class[])}显式指定{@link RejectedExecutionException}
+ * 精简失败模式下超时和取消为共享的{@link TaskException},按对应的{@link TimeoutException}和{@link CancellationException}匹配,与默认模式一致
+ */
+public final class TaskRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final List<Class<? extends Throwable>> retryOn;
+    /**
+     * 是否重试线程池拒绝
+     */
+    private final boolean retryRejected;
+    /**
+     * 是否重试超时和取消(精简失败模式下按失败类型匹配)
+     */
+    private final boolean retryTimeout;
+    private final boolean retryCancelled;
+
+    private TaskRetryPolicy(int maxAttempts, long initialDelayNanos, long maxDelayNanos, List<Class<? extends Throwable>> retryOn) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.retryOn = retryOn;
+        boolean rejected = false;
+        boolean timeout = false;
+        boolean cancelled = false;
+        for (Class<? extends Throwable> type : retryOn) {
+            rejected |= RejectedExecutionException.class.isAssignableFrom(type);
+            timeout |= type.isAssignableFrom(TimeoutException.class);
+            cancelled |= type.isAssignableFrom(CancellationException.class);
+        }
+        this.retryRejected = rejected;
+        this.retryTimeout = timeout;
+        this.retryCancelled = cancelled;
+    }
+
+    /**
+     * 初始化重试策略
+     *
+     * @param maxAttempts  最大执行次数(包括第一次执行,对冲执行不计入)
+     * @param initialDelay 第一次重试前的最大等待时间
+     * @param maxDelay     单次重试前的最大等待时间上限
+     * @param unit         时间单位
+     * @return 重试策略(重试线程池拒绝以外的所有异常)
+     */
+    public static TaskRetryPolicy init(int maxAttempts, long initialDelay, long maxDelay, TimeUnit unit) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] maxAttempts must be greater than 0.");
+        }
+        if (initialDelay < 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("[Execute-Task] Retry delay must satisfy 0 <= initialDelay <= maxDelay.");
+        }
+        return new TaskRetryPolicy(maxAttempts, unit.toNanos(initialDelay), unit.toNanos(maxDelay),
+                Collections.<Class<? extends Throwable>>singletonList(Exception.class));
+    }
+
+    /**
+     * 指定需要重试的异常类型,生成新的重试策略
+     *
+     * @param exceptionTypes 异常类型(匹配方法抛出的业务异常及其cause;包含{@link RejectedExecutionException}时重试线程池拒绝)
+     * @return 新重试策略
+     */
+    @SafeVarargs
+    public final TaskRetryPolicy retryOn(Class<? extends Throwable>... exceptionTypes) {
+        if (exceptionTypes == null || exceptionTypes.length == 0) {
+            throw new IllegalArgumentException("[Execute-Task] Retry exception types cannot be empty.");
+        }
+        List<Class<? extends Throwable>> types = new ArrayList<>(exceptionTypes.length);
+        for (Class<? extends Throwable> type : exceptionTypes) {
+            types.add(type);
+        }
+        return new TaskRetryPolicy(maxAttempts, initialDelayNanos, maxDelayNanos, Collections.unmodifiableList(types));
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 异常是否需要重试
+     * 业务异常被包装为RuntimeException(InvocationTargetException(cause)),先解包再沿cause链匹配
+     *
+     * @param exception 失败异常
+     * @return 是否重试
+     */
+    boolean isRetryable(Throwable exception) {
+        TaskFailureCode failureCode = TaskFailureCode.of(exception);
+        if (failureCode == TaskFailureCode.REJECTED) {
+            return retryRejected;
+        }
+        if (exception instanceof TaskException) {
+            if (failureCode == TaskFailureCode.TIMEOUT) {
+                return retryTimeout;
+            }
+            if (failureCode == TaskFailureCode.CANCELLED) {
+                return retryCancelled;
+            }
+        }
+        Throwable e = exception;
+        if (e != null && e.getCause() instanceof InvocationTargetException) {
+            e = ((InvocationTargetException) e.getCause()).getTargetException();
+        }
+        for (; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            for (Class<? extends Throwable> type : retryOn) {
+                if (type.isInstance(e)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算重试前的等待时间
+     *
+     * @param retry 第几次重试(从1开始)
+     * @return 等待时间(纳秒)
+     */
+    long backoffNanos(int retry) {
+        long cap = initialDelayNanos;
+        for (int i = 1; i < retry && cap < maxDelayNanos; i++) {
+            cap = cap > maxDelayNanos >> 1 ? maxDelayNanos : cap << 1;
+        }
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
@@ -0,0 +1,177 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.jfr.TaskEvents;
+import com.feng.module.task.metrics.TaskMetrics;
+import com.feng.module.task.model.TaskResult;
+import com.feng.module.task.timer.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 可取消的单次任务执行
+ * 任务在线程池中执行,超时或取消时中断执行线程,并以失败结果完成
+ *
+ * @param <R> 任务返回类型
+ */
+final class TaskRun<R> implements Runnable {
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int INTERRUPTING = 3;
+    private static final int CANCELLED = 4;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<TaskRun> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TaskRun.class, "state");
+
+    private final TaskExecutor<R> task;
+    /**
+     * 提交时捕获的取消令牌(执行期间作为执行线程的当前令牌)
+     */
+    private final TaskCancellationToken token;
+    /**
+     * 提交线程的上下文快照(执行期间在执行线程中恢复)
+     */
+    private final TaskContextSnapshot context;
+    private final CompletableFuture<TaskResult<R>> future = new CompletableFuture<>();
+    /**
+     * 提交时间
+     */
+    private final long submitNanos;
+    private volatile long startNanos;
+    private volatile int state = NEW;
+    private volatile Thread runner;
+    private volatile Timeout timeout;
+
+    TaskRun(TaskExecutor<R> task) {
+        this(task, TaskCancellationToken.current(), TaskContexts.capture());
+    }
+
+    /**
+     * 多任务执行时共享同一个令牌和上下文快照
+     */
+    TaskRun(TaskExecutor<R> task, TaskCancellationToken token, TaskContextSnapshot context) {
+        this.task = task;
+        this.token = token;
+        this.context = context;
+        this.submitNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取任务结果
+     */
+    CompletableFuture<TaskResult<R>> future() {
+        return future;
+    }
+
+    /**
+     * 绑定超时定时器,任务完成时取消
+     */
+    void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+        if (state != NEW && state != RUNNING) {
+            timeout.cancel();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!STATE_UPDATER.compareAndSet(this, NEW, RUNNING)) {
+            return;
+        }
+        // 令牌已取消(调用方已放弃):不再执行
+        if (token.isCancelled()) {
+            cancel(token.getCancelReason(), false);
+            return;
+        }
+        runner = Thread.currentThread();
+        TaskCancellationToken previous = token.attach();
+        long start = System.nanoTime();
+        startNanos = start;
+        TaskResult<R> result = null;
+        Throwable error = null;
+        Object[] previousContext = null;
+        boolean recordEvent = TaskEvents.isExecutionEnabled();
+        try {
+            previousContext = context.restore();
+            if (recordEvent) {
+                TaskEvents.setQueueNanos(start - submitNanos);
+            }
+            R value = task.execute();
+            result = TaskResult.success(value, submitNanos, start, System.nanoTime());
+        } catch (Exception e) {
+            result = TaskResult.fail(null, e, submitNanos, start, System.nanoTime());
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            runner = null;
+            if (recordEvent) {
+                TaskEvents.setQueueNanos(0);
+            }
+            context.reset(previousContext);
+            token.detach(previous);
+        }
+        TaskMetrics metrics = TaskMetrics.getInstance();
+        if (metrics.isEnabled()) {
+            metrics.timer(task.getTaskModel()).record(
+                    (result != null ? result.endNanos : System.nanoTime()) - start, result != null && result.success);
+        }
+        if (STATE_UPDATER.compareAndSet(this, RUNNING, DONE)) {
+            Timeout t = timeout;
+            if (t != null) {
+                t.cancel();
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+            return;
+        }
+        // 任务已被取消:等待中断完成后清除中断标记,避免影响线程池中的后续任务
+        while (state == INTERRUPTING) {
+            Thread.yield();
+        }
+        Thread.interrupted();
+    }
+
+    /**
+     * 取消任务
+     *
+     * @param reason    失败原因
+     * @param interrupt 任务执行中时是否中断执行线程
+     * @return 是否取消成功(任务已完成返回false)
+     */
+    boolean cancel(Exception reason, boolean interrupt) {
+        if (STATE_UPDATER.compareAndSet(this, NEW, CANCELLED)) {
+            complete(reason);
+            return true;
+        }
+        if (interrupt) {
+            if (!STATE_UPDATER.compareAndSet(this, RUNNING, INTERRUPTING)) {
+                return false;
+            }
+            try {
+                Thread t = runner;
+                if (t != null) {
+                    t.interrupt();
+                }
+            } finally {
+                state = CANCELLED;
+            }
+        } else if (!STATE_UPDATER.compareAndSet(this, RUNNING, CANCELLED)) {
+            return false;
+        }
+        complete(reason);
+        return true;
+    }
+
+    private void complete(Exception reason) {
+        Timeout t = timeout;
+        if (t != null) {
+            t.cancel();
+        }
+        future.complete(TaskResult.fail(null, reason, submitNanos, startNanos, System.nanoTime()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+import com.feng.module.task.timer.HashedWheelTimer;
+import com.feng.module.task.timer.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定时任务(延迟执行或周期执行)
+ * 到期时间由共享时间轮调度(新增和取消都是O(1),精度为时间轮的tick),到期后提交到线程池执行,不占用时间轮线程
+ * 周期任务的同一次调度不会并发执行:固定频率按计划时间计算下次执行时间,执行超时时下次立即执行;固定延迟从上次执行完成开始计算
+ * 任务结果在调度结束时完成:延迟任务为执行结果;周期任务执行失败时停止调度,结果为该次失败结果;取消时为CancellationException失败
+ * 取消令牌和上下文在创建调度时捕获,每次执行都使用调用线程的令牌和上下文(不使用时间轮线程的);线程池拒绝时该次执行以拒绝失败结束,不在时间轮线程中执行
+ *
+ * @param <R> 任务返回类型
+ */
+public final class TaskSchedule<R> {
+
+    private final TaskExecutor<R> task;
+    private final ExecutorService threadPool;
+    /**
+     * 执行周期(纳秒),0为只执行一次
+     */
+    private final long periodNanos;
+    private final boolean fixedRate;
+    /**
+     * 创建调度时捕获的取消令牌和上下文快照(每次执行共享)
+     */
+    private final TaskCancellationToken token;
+    private final TaskContextSnapshot context;
+    private final CompletableFuture<TaskResult<R>> future = new CompletableFuture<>();
+    private final AtomicLong executionCount = new AtomicLong();
+    /**
+     * 固定频率的下次计划执行时间(只在调度链上访问,同一时刻只有一个线程修改)
+     */
+    private long nextNanos;
+    private volatile Timeout timeout;
+    private volatile TaskRun<R> current;
+    private volatile boolean cancelled;
+
+    private TaskSchedule(TaskExecutor<R> task, ExecutorService threadPool, long periodNanos, boolean fixedRate) {
+        this.task = task;
+        this.threadPool = threadPool;
+        this.periodNanos = periodNanos;
+        this.fixedRate = fixedRate;
+        this.token = TaskCancellationToken.current();
+        this.context = TaskContexts.capture();
+    }
+
+    /**
+     * 延迟执行一次
+     */
+    static <R> TaskSchedule<R> once(TaskExecutor<R> task, ExecutorService threadPool, long delay, TimeUnit unit) {
+        TaskSchedule<R> schedule = new TaskSchedule<>(task, threadPool, 0, false);
+        schedule.start(unit.toNanos(Math.max(delay, 0)));
+        return schedule;
+    }
+
+    /**
+     * 周期执行
+     */
+    static <R> TaskSchedule<R> periodic(TaskExecutor<R> task, ExecutorService threadPool, long initialDelay, long period, TimeUnit unit,
+                                        boolean fixedRate) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] period must be greater than 0.");
+        }
+        TaskSchedule<R> schedule = new TaskSchedule<>(task, threadPool, unit.toNanos(period), fixedRate);
+        long initialDelayNanos = unit.toNanos(Math.max(initialDelay, 0));
+        schedule.nextNanos = System.nanoTime() + initialDelayNanos;
+        schedule.start(initialDelayNanos);
+        return schedule;
+    }
+
+    /**
+     * 调度结束时的任务结果
+     */
+    public CompletableFuture<TaskResult<R>> getFuture() {
+        return future;
+    }
+
+    /**
+     * 已执行(包括执行中)的次数
+     */
+    public long getExecutionCount() {
+        return executionCount.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 是否已结束调度(执行完成、失败或取消)
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * 取消调度:未到期的执行不再执行,已提交未开始的执行被取消,执行中的任务不中断
+     *
+     * @return 是否取消成功(调度已结束返回false)
+     */
+    public boolean cancel() {
+        if (future.isDone()) {
+            return false;
+        }
+        cancelled = true;
+        Timeout t = timeout;
+        if (t != null) {
+            t.cancel();
+        }
+        TaskRun<R> run = current;
+        if (run != null) {
+            run.cancel(TaskFailures.cancelled("[Execute-Task] Scheduled task cancelled."), false);
+        }
+        return future.complete(TaskResult.fail(null, TaskFailures.cancelled("[Execute-Task] Scheduled task cancelled.")));
+    }
+
+    private void start(long delayNanos) {
+        Timeout t = HashedWheelTimer.getInstance().newTimeout(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+        timeout = t;
+        // 设置句柄前已取消
+        if (cancelled) {
+            t.cancel();
+        }
+    }
+
+    /**
+     * 到期:提交到线程池执行(在时间轮线程中调用,不能阻塞)
+     */
+    private void dispatch() {
+        if (cancelled) {
+            return;
+        }
+        TaskRun<R> run = new TaskRun<>(task, token, context);
+        current = run;
+        executionCount.incrementAndGet();
+        run.future().whenComplete((result, error) -> onComplete(run, result, error));
+        if (cancelled) {
+            run.cancel(TaskFailures.cancelled("[Execute-Task] Scheduled task cancelled."), false);
+            return;
+        }
+        RejectedExecutionException rejected = TaskDispatcher.dispatch(threadPool, run);
+        if (rejected != null) {
+            run.cancel(TaskFailures.rejected(rejected), false);
+        }
+    }
+
+    private void onComplete(TaskRun<R> run, TaskResult<R> result, Throwable error) {
+        current = null;
+        if (error != null) {
+            future.completeExceptionally(error);
+            return;
+        }
+        if (periodNanos == 0 || !result.success) {
+            future.complete(result);
+            return;
+        }
+        if (cancelled) {
+            return;
+        }
+        long delayNanos;
+        if (fixedRate) {
+            nextNanos += periodNanos;
+            delayNanos = Math.max(0, nextNanos - System.nanoTime());
+        } else {
+            delayNanos = periodNanos;
+        }
+        start(delayNanos);
+    }
+}
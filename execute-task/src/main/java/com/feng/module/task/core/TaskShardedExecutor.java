@@ -0,0 +1,342 @@
+package com.feng.module.task.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 分片任务执行器
+ * 每个工作线程有自己的无锁队列,提交线程随机选择队列提交(队列满时依次尝试其他队列),不存在所有提交线程竞争的同一把锁
+ * 工作线程优先执行自己队列中的任务,自己的队列为空时从其他队列窃取任务,都为空时挂起
+ * 适合大量线程高频提交短任务的场景,可以直接作为{@link TaskExecutor#executeTasks}的线程池使用
+ *
+ * <pre>
+ * ExecutorService threadPool = TaskShardedExecutor.init(8, 1024);
+ * List&lt;TaskResult&lt;String&gt;&gt; taskResults = TaskExecutor.executeTasks(taskList, threadPool);
+ * </pre>
+ */
+public final class TaskShardedExecutor extends AbstractExecutorService {
+
+    private static final int STATE_RUNNING = 0;
+    private static final int STATE_SHUTDOWN = 1;
+    private static final int STATE_STOP = 2;
+    private static final AtomicIntegerFieldUpdater<TaskShardedExecutor> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TaskShardedExecutor.class, "state");
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    /**
+     * 挂起的最长时间(纳秒),兜底处理唤醒遗漏
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Worker[] workers;
+    /**
+     * 单个队列的容量
+     */
+    private final int capacity;
+    /**
+     * 挂起的工作线程数(有挂起的工作线程时,提交到忙碌队列的任务需要唤醒其他工作线程窃取)
+     */
+    private final AtomicInteger parkedCount = new AtomicInteger();
+    private final CountDownLatch terminated;
+    private volatile int state = STATE_RUNNING;
+
+    private TaskShardedExecutor(int parallelism, int capacity, String threadNamePrefix) {
+        this.capacity = capacity;
+        this.workers = new Worker[parallelism];
+        this.terminated = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i, threadNamePrefix + i);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * 初始化分片任务执行器(队列无界)
+     *
+     * @param parallelism 工作线程数
+     * @return 执行器
+     */
+    public static TaskShardedExecutor init(int parallelism) {
+        return init(parallelism, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 初始化分片任务执行器
+     *
+     * @param parallelism 工作线程数
+     * @param capacity    每个工作线程的队列容量(所有队列都满时拒绝执行)
+     * @return 执行器
+     */
+    public static TaskShardedExecutor init(int parallelism, int capacity) {
+        if (parallelism <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] parallelism and capacity must be greater than 0.");
+        }
+        return new TaskShardedExecutor(parallelism, capacity, "task-sharded-" + POOL_SEQUENCE.incrementAndGet() + "-");
+    }
+
+    /**
+     * 提交任务
+     *
+     * @throws RejectedExecutionException 执行器已关闭或所有队列都已满
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (state != STATE_RUNNING) {
+            throw new RejectedExecutionException("[Execute-Task] Sharded executor has been shut down.");
+        }
+        int size = workers.length;
+        int start = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            Worker worker = workers[(start + i) % size];
+            if (worker.offer(command)) {
+                // 入队后关闭:已退出的工作线程不会再执行该任务
+                if (state != STATE_RUNNING && worker.remove(command)) {
+                    throw new RejectedExecutionException("[Execute-Task] Sharded executor has been shut down.");
+                }
+                signal(worker);
+                return;
+            }
+        }
+        throw new RejectedExecutionException(String.format("[Execute-Task] Sharded executor queues are full. capacity=%d", capacity));
+    }
+
+    /**
+     * 工作线程数
+     */
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * 排队中的任务数
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (Worker worker : workers) {
+            size += worker.size.get();
+        }
+        return size;
+    }
+
+    /**
+     * 从其他队列窃取执行的任务数
+     */
+    public long getStealCount() {
+        long count = 0;
+        for (Worker worker : workers) {
+            count += worker.stealCount;
+        }
+        return count;
+    }
+
+    @Override
+    public void shutdown() {
+        if (STATE_UPDATER.compareAndSet(this, STATE_RUNNING, STATE_SHUTDOWN)) {
+            for (Worker worker : workers) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+    }
+
+    /**
+     * 立即关闭:不再执行排队中的任务,中断执行中的任务
+     *
+     * @return 未执行的任务
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        STATE_UPDATER.set(this, STATE_STOP);
+        List<Runnable> remaining = new ArrayList<>();
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
+            Runnable task;
+            while ((task = worker.poll()) != null) {
+                remaining.add(task);
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != STATE_RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * 唤醒执行任务的工作线程:队列所属的工作线程挂起时唤醒它,否则唤醒一个挂起的工作线程来窃取
+     */
+    private void signal(Worker worker) {
+        if (worker.wake() || parkedCount.get() == 0) {
+            return;
+        }
+        int size = workers.length;
+        for (int i = 1; i < size; i++) {
+            if (workers[(worker.index + i) % size].wake()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 工作线程和它的任务队列
+     * 队列由多个提交线程写入,由所属工作线程和窃取的工作线程读取;size为队列中的任务数,用于限制容量
+     */
+    private final class Worker implements Runnable {
+        private final int index;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        /**
+         * 是否已挂起(唤醒方通过CAS清除,同一次挂起只唤醒一次)
+         */
+        private final AtomicBoolean parked = new AtomicBoolean();
+        /**
+         * 窃取执行的任务数(只由所属工作线程修改)
+         */
+        private volatile long stealCount;
+
+        private Worker(int index, String threadName) {
+            this.index = index;
+            this.thread = new Thread(this, threadName);
+            this.thread.setDaemon(true);
+        }
+
+        private boolean offer(Runnable task) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            tasks.offer(task);
+            return true;
+        }
+
+        private Runnable poll() {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                size.decrementAndGet();
+            }
+            return task;
+        }
+
+        private boolean remove(Runnable task) {
+            if (tasks.remove(task)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean wake() {
+            if (parked.get() && parked.compareAndSet(true, false)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Runnable task = next();
+                    if (task != null) {
+                        runTask(task);
+                        continue;
+                    }
+                    if (state != STATE_RUNNING) {
+                        // 关闭后执行完所有队列中的任务再退出
+                        return;
+                    }
+                    park();
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        /**
+         * 获取下一个任务:先取自己的队列,再从其他队列窃取
+         */
+        private Runnable next() {
+            if (state == STATE_STOP) {
+                return null;
+            }
+            Runnable task = poll();
+            if (task != null) {
+                return task;
+            }
+            int count = workers.length;
+            for (int i = 1; i < count; i++) {
+                task = workers[(index + i) % count].poll();
+                if (task != null) {
+                    stealCount++;
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 挂起:先标记挂起再检查队列,与提交线程的先入队再检查挂起标记配合,不会遗漏唤醒
+         */
+        private void park() {
+            parked.set(true);
+            parkedCount.incrementAndGet();
+            try {
+                if (hasTask() || state != STATE_RUNNING) {
+                    return;
+                }
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            } finally {
+                parked.set(false);
+                parkedCount.decrementAndGet();
+            }
+        }
+
+        private boolean hasTask() {
+            for (Worker worker : workers) {
+                if (worker.size.get() > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void runTask(Runnable task) {
+            // 清除上一个任务遗留的中断标记(例如任务超时被中断)
+            Thread.interrupted();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // 任务异常不结束工作线程
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.feng.module.task.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持(JDK21+)
+ * 通过反射创建,低版本JDK上不可用时返回null,由调用方退回平台线程池
+ * 适合阻塞IO较多的任务:每个任务一个虚拟线程,不受固定线程数限制
+ */
+public final class VirtualThreads {
+
+    // 私有化
+    private VirtualThreads() {
+    }
+
+    /**
+     * 构建单例实例
+     */
+    private static class GenSingleton {
+        //静态常量：类加载时初始化，仅一次
+        private static final ExecutorService INSTANCE = createExecutor();
+    }
+
+    /**
+     * 当前JDK是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    public static boolean isSupported() {
+        return GenSingleton.INSTANCE != null;
+    }
+
+    /**
+     * 获取共享的虚拟线程执行器(每个任务一个虚拟线程)
+     *
+     * @return 虚拟线程执行器,不支持时返回null
+     */
+    public static ExecutorService getExecutor() {
+        return GenSingleton.INSTANCE;
+    }
+
+    /**
+     * 获取虚拟线程执行器,不支持时返回指定的线程池
+     *
+     * @param fallback 不支持虚拟线程时使用的线程池
+     * @return 线程池
+     */
+    public static ExecutorService getExecutorOrDefault(ExecutorService fallback) {
+        ExecutorService executor = GenSingleton.INSTANCE;
+        return executor == null ? fallback : executor;
+    }
+
+    /**
+     * 反射创建:Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory())
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "task-virtual-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = java.util.concurrent.Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.feng.module.task.invoker;
+
+/**
+ * LambdaMetafactory生成的方法调用接口(内部使用)
+ * 生成的实现类定义在目标方法所在类的加载器中,因此接口必须是public
+ * 实现类捕获执行对象(字段类型为方法的声明类),调用时只传方法参数
+ */
+public final class GeneratedCalls {
+
+    // 私有化
+    private GeneratedCalls() {
+    }
+
+    /**
+     * 按参数个数获取调用接口
+     *
+     * @param parameterCount 参数个数
+     * @return 调用接口,超出支持范围返回null
+     */
+    static Class<?> callType(int parameterCount) {
+        switch (parameterCount) {
+            case 0:
+                return Call0.class;
+            case 1:
+                return Call1.class;
+            case 2:
+                return Call2.class;
+            case 3:
+                return Call3.class;
+            case 4:
+                return Call4.class;
+            case 5:
+                return Call5.class;
+            default:
+                return null;
+        }
+    }
+
+    public interface Call0 {
+        Object call();
+    }
+
+    public interface Call1 {
+        Object call(Object arg1);
+    }
+
+    public interface Call2 {
+        Object call(Object arg1, Object arg2);
+    }
+
+    public interface Call3 {
+        Object call(Object arg1, Object arg2, Object arg3);
+    }
+
+    public interface Call4 {
+        Object call(Object arg1, Object arg2, Object arg3, Object arg4);
+    }
+
+    public interface Call5 {
+        Object call(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5);
+    }
+}
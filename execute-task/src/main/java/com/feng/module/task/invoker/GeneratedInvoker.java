@@ -0,0 +1,119 @@
+package com.feng.module.task.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 绑定了执行对象的生成调用器(LambdaMetafactory生成调用实现的方法使用)
+ * 调用实现是为方法生成的类,捕获了执行对象,参数在生成的调用中转换为声明的类型:
+ * 调用时不做参数个数和参数类型的预先校验,与直接调用的开销相同
+ * 参数个数或类型不匹配时,生成的调用在执行方法之前就抛出ClassCastException或NullPointerException,
+ * 此时参数不能直接匹配(null、基本类型转换等),交给反射处理,保证和Method.invoke行为一致
+ */
+final class GeneratedInvoker implements TaskInvoker {
+
+    private final LinkedMethod linked;
+    /**
+     * 捕获了执行对象的调用实现(GeneratedCalls.CallN)
+     */
+    private final Object call;
+    private final Object bean;
+
+    GeneratedInvoker(LinkedMethod linked, Object call, Object bean) {
+        this.linked = linked;
+        this.call = call;
+        this.bean = bean;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return linked.parameterCount;
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws InvocationTargetException {
+        switch (args.length) {
+            case 0:
+                return invoke0();
+            case 1:
+                return invoke1(args[0]);
+            case 2:
+                return invoke2(args[0], args[1]);
+            case 3:
+                return invoke3(args[0], args[1], args[2]);
+            case 4:
+                return invoke4(args[0], args[1], args[2], args[3]);
+            case 5:
+                return invoke5(args[0], args[1], args[2], args[3], args[4]);
+            default:
+                return linked.invokeReflectively(bean, args);
+        }
+    }
+
+    @Override
+    public Object invoke0() throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call0) call).call();
+        } catch (Throwable e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public Object invoke1(Object arg1) throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call1) call).call(arg1);
+        } catch (Throwable e) {
+            return failed(e, arg1);
+        }
+    }
+
+    @Override
+    public Object invoke2(Object arg1, Object arg2) throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call2) call).call(arg1, arg2);
+        } catch (Throwable e) {
+            return failed(e, arg1, arg2);
+        }
+    }
+
+    @Override
+    public Object invoke3(Object arg1, Object arg2, Object arg3) throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call3) call).call(arg1, arg2, arg3);
+        } catch (Throwable e) {
+            return failed(e, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public Object invoke4(Object arg1, Object arg2, Object arg3, Object arg4) throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call4) call).call(arg1, arg2, arg3, arg4);
+        } catch (Throwable e) {
+            return failed(e, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    @Override
+    public Object invoke5(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) throws InvocationTargetException {
+        try {
+            return ((GeneratedCalls.Call5) call).call(arg1, arg2, arg3, arg4, arg5);
+        } catch (Throwable e) {
+            return failed(e, arg1, arg2, arg3, arg4, arg5);
+        }
+    }
+
+    /**
+     * 调用失败:参数能直接匹配时异常来自方法本身,否则是调用实现的参数个数或类型转换失败(方法未执行),交给反射处理
+     *
+     * @param e    调用抛出的异常
+     * @param args 执行参数
+     * @return 反射执行的结果
+     */
+    private Object failed(Throwable e, Object... args) throws InvocationTargetException {
+        if ((e instanceof ClassCastException || e instanceof NullPointerException) && !linked.isDirectlyApplicable(args)) {
+            return linked.invokeReflectively(bean, args);
+        }
+        throw TaskInvokers.invocationFailure(e);
+    }
+}
@@ -0,0 +1,261 @@
+package com.feng.module.task.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 方法的链接结果
+ * 同一个Method只链接一次,不同bean共享链接结果
+ * 优先通过LambdaMetafactory生成直接调用的实现类,不支持时退化为MethodHandle调用
+ */
+abstract class LinkedMethod {
+
+    /**
+     * MethodHandles#privateLookupIn(JDK9+),用于在目标类中生成调用实现类
+     */
+    private static final Method PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+
+    final Method method;
+    final int parameterCount;
+    /**
+     * 参数的包装类型(基本类型转换成包装类型),用于快速校验
+     */
+    private final Class<?>[] boxedTypes;
+    private final boolean[] primitives;
+
+    private LinkedMethod(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.method = method;
+        this.parameterCount = parameterTypes.length;
+        this.boxedTypes = new Class<?>[parameterTypes.length];
+        this.primitives = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            this.boxedTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            this.primitives[i] = parameterTypes[i].isPrimitive();
+        }
+    }
+
+    /**
+     * 执行方法(参数已通过{@link #isDirectlyApplicable(Object[])}校验)
+     *
+     * @param bean 执行对象
+     * @param args 执行参数
+     * @return 执行结果
+     * @throws Throwable 方法本身抛出的异常
+     */
+    abstract Object call(Object bean, Object[] args) throws Throwable;
+
+    /**
+     * 绑定执行对象,生成方法调用器
+     *
+     * @param bean 执行对象(静态方法可传null)
+     * @return 方法调用器
+     */
+    TaskInvoker bind(Object bean) {
+        return new LinkedMethodInvoker(this, bean);
+    }
+
+    /**
+     * 固定参数个数的执行(参数已通过{@link #isApplicable(int, Object)}校验),默认转为数组调用
+     */
+    Object call0(Object bean) throws Throwable {
+        return call(bean, new Object[0]);
+    }
+
+    Object call1(Object bean, Object arg1) throws Throwable {
+        return call(bean, new Object[]{arg1});
+    }
+
+    Object call2(Object bean, Object arg1, Object arg2) throws Throwable {
+        return call(bean, new Object[]{arg1, arg2});
+    }
+
+    Object call3(Object bean, Object arg1, Object arg2, Object arg3) throws Throwable {
+        return call(bean, new Object[]{arg1, arg2, arg3});
+    }
+
+    Object call4(Object bean, Object arg1, Object arg2, Object arg3, Object arg4) throws Throwable {
+        return call(bean, new Object[]{arg1, arg2, arg3, arg4});
+    }
+
+    Object call5(Object bean, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) throws Throwable {
+        return call(bean, new Object[]{arg1, arg2, arg3, arg4, arg5});
+    }
+
+    /**
+     * 反射执行方法(参数不能直接匹配时使用,如基本类型的拓宽转换),保证和Method.invoke行为一致
+     *
+     * @param bean 执行对象
+     * @param args 执行参数
+     * @return 执行结果
+     * @throws InvocationTargetException 方法本身抛出的业务异常
+     * @throws IllegalArgumentException  参数个数或类型不匹配
+     */
+    Object invokeReflectively(Object bean, Object[] args) throws InvocationTargetException {
+        try {
+            return method.invoke(bean, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 参数是否可以不经转换直接调用
+     */
+    boolean isDirectlyApplicable(Object[] args) {
+        if (args.length != parameterCount) {
+            return false;
+        }
+        for (int i = 0; i < parameterCount; i++) {
+            if (!isApplicable(i, args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个参数是否可以不经转换直接传入
+     */
+    boolean isApplicable(int index, Object arg) {
+        if (arg == null) {
+            return !primitives[index];
+        }
+        // 先比较具体类型(指针比较),不相同时再做子类型判断
+        return arg.getClass() == boxedTypes[index] || boxedTypes[index].isInstance(arg);
+    }
+
+    /**
+     * 链接方法:设置可访问性并生成调用实现
+     *
+     * @param method 方法
+     * @return 链接结果
+     */
+    static LinkedMethod link(Method method) {
+        method.setAccessible(true);
+        MethodHandle factory = generateCall(method);
+        if (factory != null) {
+            return new Generated(method, factory);
+        }
+        try {
+            return new Handle(method, MethodHandles.lookup().unreflect(method).asFixedArity());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 通过LambdaMetafactory在目标类中为方法生成{@link GeneratedCalls}的实现类
+     * 实现类捕获执行对象,执行对象和参数的类型都固定在生成的调用中(执行对象不需要转换,参数转换为声明的类型)
+     * 仅支持5个参数以内、有返回值的实例方法
+     *
+     * @param method 方法
+     * @return 绑定执行对象生成调用实现的工厂((声明类)GeneratedCalls.CallN),不支持时返回null
+     */
+    private static MethodHandle generateCall(Method method) {
+        Class<?> callType = GeneratedCalls.callType(method.getParameterCount());
+        if (PRIVATE_LOOKUP_IN == null || callType == null
+                || Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle implMethod = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "call",
+                    MethodType.methodType(callType, method.getDeclaringClass()),
+                    MethodType.genericMethodType(method.getParameterCount()),
+                    implMethod,
+                    implMethod.type().dropParameterTypes(0, 1).wrap());
+            return callSite.getTarget();
+        } catch (Throwable e) {
+            // 访问受限等情况,退化为MethodHandle调用
+            return null;
+        }
+    }
+
+    private static Method findPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * LambdaMetafactory生成的直接调用
+     */
+    private static final class Generated extends LinkedMethod {
+        /**
+         * 绑定执行对象生成调用实现的工厂
+         */
+        private final MethodHandle factory;
+
+        private Generated(Method method, MethodHandle factory) {
+            super(method);
+            this.factory = factory;
+        }
+
+        @Override
+        Object call(Object bean, Object[] args) {
+            Object call = bindCall(bean);
+            switch (parameterCount) {
+                case 0:
+                    return ((GeneratedCalls.Call0) call).call();
+                case 1:
+                    return ((GeneratedCalls.Call1) call).call(args[0]);
+                case 2:
+                    return ((GeneratedCalls.Call2) call).call(args[0], args[1]);
+                case 3:
+                    return ((GeneratedCalls.Call3) call).call(args[0], args[1], args[2]);
+                case 4:
+                    return ((GeneratedCalls.Call4) call).call(args[0], args[1], args[2], args[3]);
+                default:
+                    return ((GeneratedCalls.Call5) call).call(args[0], args[1], args[2], args[3], args[4]);
+            }
+        }
+
+        @Override
+        TaskInvoker bind(Object bean) {
+            return new GeneratedInvoker(this, bindCall(bean), bean);
+        }
+
+        /**
+         * 生成捕获执行对象的调用实现
+         */
+        private Object bindCall(Object bean) {
+            try {
+                return factory.invoke(bean);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("[Execute-Task] The target object bean must be an instance of the method declaring class.", e);
+            }
+        }
+    }
+
+    /**
+     * MethodHandle调用(静态方法、无返回值、超过5个参数或无法生成实现类时使用)
+     */
+    private static final class Handle extends LinkedMethod {
+        private final MethodHandle handle;
+
+        private Handle(Method method, MethodHandle handle) {
+            super(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // 静态方法忽略bean参数
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            this.handle = handle.asSpreader(Object[].class, parameterCount)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        }
+
+        @Override
+        Object call(Object bean, Object[] args) throws Throwable {
+            return (Object) handle.invokeExact(bean, args);
+        }
+    }
+}
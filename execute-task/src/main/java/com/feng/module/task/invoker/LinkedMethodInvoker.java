@@ -0,0 +1,110 @@
+package com.feng.module.task.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 绑定了执行对象的方法调用器
+ */
+final class LinkedMethodInvoker implements TaskInvoker {
+
+    private final LinkedMethod linked;
+    private final Object bean;
+
+    LinkedMethodInvoker(LinkedMethod linked, Object bean) {
+        this.linked = linked;
+        this.bean = bean;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return linked.parameterCount;
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws InvocationTargetException {
+        // 参数类型不能直接匹配(如基本类型的拓宽转换),交给反射处理,保证和Method.invoke行为一致
+        if (!linked.isDirectlyApplicable(args)) {
+            return linked.invokeReflectively(bean, args);
+        }
+        try {
+            return linked.call(bean, args);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke0() throws InvocationTargetException {
+        if (linked.parameterCount != 0) {
+            return invoke(new Object[0]);
+        }
+        try {
+            return linked.call0(bean);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke1(Object arg1) throws InvocationTargetException {
+        if (linked.parameterCount != 1 || !linked.isApplicable(0, arg1)) {
+            return invoke(new Object[]{arg1});
+        }
+        try {
+            return linked.call1(bean, arg1);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke2(Object arg1, Object arg2) throws InvocationTargetException {
+        if (linked.parameterCount != 2 || !linked.isApplicable(0, arg1) || !linked.isApplicable(1, arg2)) {
+            return invoke(new Object[]{arg1, arg2});
+        }
+        try {
+            return linked.call2(bean, arg1, arg2);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke3(Object arg1, Object arg2, Object arg3) throws InvocationTargetException {
+        if (linked.parameterCount != 3 || !linked.isApplicable(0, arg1) || !linked.isApplicable(1, arg2)
+                || !linked.isApplicable(2, arg3)) {
+            return invoke(new Object[]{arg1, arg2, arg3});
+        }
+        try {
+            return linked.call3(bean, arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke4(Object arg1, Object arg2, Object arg3, Object arg4) throws InvocationTargetException {
+        if (linked.parameterCount != 4 || !linked.isApplicable(0, arg1) || !linked.isApplicable(1, arg2)
+                || !linked.isApplicable(2, arg3) || !linked.isApplicable(3, arg4)) {
+            return invoke(new Object[]{arg1, arg2, arg3, arg4});
+        }
+        try {
+            return linked.call4(bean, arg1, arg2, arg3, arg4);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+
+    @Override
+    public Object invoke5(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) throws InvocationTargetException {
+        if (linked.parameterCount != 5 || !linked.isApplicable(0, arg1) || !linked.isApplicable(1, arg2)
+                || !linked.isApplicable(2, arg3) || !linked.isApplicable(3, arg4) || !linked.isApplicable(4, arg5)) {
+            return invoke(new Object[]{arg1, arg2, arg3, arg4, arg5});
+        }
+        try {
+            return linked.call5(bean, arg1, arg2, arg3, arg4, arg5);
+        } catch (Throwable e) {
+            throw TaskInvokers.invocationFailure(e);
+        }
+    }
+}
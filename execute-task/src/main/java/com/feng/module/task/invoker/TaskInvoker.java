@@ -0,0 +1,87 @@
+package com.feng.module.task.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 任务调用器
+ * 方法在创建时完成校验和链接,执行时直接调用,避免每次执行都走反射校验
+ * 异常约定与{@link java.lang.reflect.Method#invoke(Object, Object...)}保持一致
+ */
+public interface TaskInvoker {
+
+    /**
+     * 任意参数个数
+     */
+    int ANY_PARAMETER_COUNT = -1;
+
+    /**
+     * 获取方法声明的参数个数
+     *
+     * @return 参数个数,任意参数返回{@link #ANY_PARAMETER_COUNT}
+     */
+    int getParameterCount();
+
+    /**
+     * 获取调用目标的类型(用于统计),默认为调用器本身的类型
+     *
+     * @return 调用目标的类型
+     */
+    default Class<?> getTargetType() {
+        return getClass();
+    }
+
+    /**
+     * 执行方法
+     *
+     * @param args 方法参数(不能为null)
+     * @return 方法执行结果
+     * @throws InvocationTargetException 方法本身抛出的业务异常
+     * @throws IllegalArgumentException  参数类型不匹配
+     */
+    Object invoke(Object[] args) throws InvocationTargetException;
+
+    /**
+     * 执行无参方法(固定参数个数的调用不分配参数数组,实现类可以直接调用;默认转为数组调用)
+     *
+     * @return 方法执行结果
+     * @throws InvocationTargetException 方法本身抛出的业务异常
+     */
+    default Object invoke0() throws InvocationTargetException {
+        return invoke(new Object[0]);
+    }
+
+    /**
+     * 执行1参数方法
+     */
+    default Object invoke1(Object arg1) throws InvocationTargetException {
+        return invoke(new Object[]{arg1});
+    }
+
+    /**
+     * 执行2参数方法
+     */
+    default Object invoke2(Object arg1, Object arg2) throws InvocationTargetException {
+        return invoke(new Object[]{arg1, arg2});
+    }
+
+    /**
+     * 执行3参数方法
+     */
+    default Object invoke3(Object arg1, Object arg2, Object arg3) throws InvocationTargetException {
+        return invoke(new Object[]{arg1, arg2, arg3});
+    }
+
+    /**
+     * 执行4参数方法
+     */
+    default Object invoke4(Object arg1, Object arg2, Object arg3, Object arg4) throws InvocationTargetException {
+        return invoke(new Object[]{arg1, arg2, arg3, arg4});
+    }
+
+    /**
+     * 执行5参数方法
+     */
+    default Object invoke5(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) throws InvocationTargetException {
+        return invoke(new Object[]{arg1, arg2, arg3, arg4, arg5});
+    }
+}
@@ -0,0 +1,83 @@
+package com.feng.module.task.invoker;
+
+import com.feng.module.task.model.TaskException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 任务调用器工厂
+ * 缓存每个Method的链接结果,链接(setAccessible、生成MethodHandle)只在首次使用时执行一次
+ * 链接结果通过{@link ClassValue}挂在方法的声明类上,不被静态集合强引用,声明类的类加载器卸载时随之回收
+ */
+public final class TaskInvokers {
+
+    private static final ClassValue<ConcurrentMap<Method, LinkedMethod>> LINKED_CACHE = new ClassValue<ConcurrentMap<Method, LinkedMethod>>() {
+        @Override
+        protected ConcurrentMap<Method, LinkedMethod> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * 包装业务异常时是否不记录堆栈(与精简失败模式一致)
+     */
+    private static volatile boolean stacklessFailures = Boolean.getBoolean(TaskException.COMPACT_PROPERTY);
+
+    // 私有化
+    private TaskInvokers() {
+    }
+
+    /**
+     * 生成绑定了执行对象的方法调用器
+     * 调用方需先保证bean和method匹配
+     *
+     * @param bean   执行对象(静态方法可传null)
+     * @param method 执行方法
+     * @return 方法调用器
+     */
+    public static TaskInvoker bind(Object bean, Method method) {
+        ConcurrentMap<Method, LinkedMethod> linkedMethods = LINKED_CACHE.get(method.getDeclaringClass());
+        LinkedMethod linked = linkedMethods.get(method);
+        if (linked == null) {
+            linked = linkedMethods.computeIfAbsent(method, LinkedMethod::link);
+        }
+        return linked.bind(bean);
+    }
+
+    /**
+     * 设置包装业务异常时是否不记录堆栈
+     *
+     * @param stackless 是否不记录堆栈
+     */
+    public static void setStacklessFailures(boolean stackless) {
+        stacklessFailures = stackless;
+    }
+
+    /**
+     * 包装方法本身抛出的异常
+     *
+     * @param target 方法本身抛出的异常
+     * @return InvocationTargetException(精简失败模式下不记录堆栈)
+     */
+    public static InvocationTargetException invocationFailure(Throwable target) {
+        return stacklessFailures ? new StacklessInvocationTargetException(target) : new InvocationTargetException(target);
+    }
+
+    /**
+     * 不记录堆栈的InvocationTargetException
+     */
+    private static final class StacklessInvocationTargetException extends InvocationTargetException {
+        private static final long serialVersionUID = 1L;
+
+        private StacklessInvocationTargetException(Throwable target) {
+            super(target);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
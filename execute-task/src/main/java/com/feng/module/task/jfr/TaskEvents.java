@@ -0,0 +1,148 @@
+package com.feng.module.task.jfr;
+
+import com.feng.module.task.model.TaskFailureCode;
+import com.feng.module.task.model.TaskModel;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 任务执行的JFR事件
+ * 运行环境没有JFR(jdk.jfr)或事件未开启录制时,只有一次类型判断和一次开关读取,不创建事件对象
+ * 开启方式:java -XX:StartFlightRecording ...,事件名称为com.feng.task.Execution
+ */
+public final class TaskEvents {
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+    /**
+     * 执行线程中即将执行的任务的排队时间(由线程池中的执行逻辑设置,事件提交时读取并清除)
+     */
+    private static final ThreadLocal<long[]> QUEUE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    // 私有化
+    private TaskEvents() {
+    }
+
+    /**
+     * 任务执行事件是否开启录制
+     */
+    public static boolean isExecutionEnabled() {
+        return AVAILABLE && Holder.isEnabled();
+    }
+
+    /**
+     * 记录即将在当前线程中执行的任务的排队时间(事件开启录制时调用)
+     *
+     * @param queueNanos 排队时间(纳秒)
+     */
+    public static void setQueueNanos(long queueNanos) {
+        QUEUE_NANOS.get()[0] = queueNanos;
+    }
+
+    /**
+     * 开始任务执行事件(事件开启录制时调用)
+     *
+     * @return 事件对象(传给{@link #commitExecution(Object, TaskModel, Throwable)})
+     */
+    public static Object beginExecution() {
+        return Holder.begin();
+    }
+
+    /**
+     * 提交任务执行事件
+     *
+     * @param event     {@link #beginExecution()}的返回值
+     * @param taskModel 任务模型
+     * @param failure   执行失败的异常,成功传null
+     */
+    public static void commitExecution(Object event, TaskModel<?> taskModel, Throwable failure) {
+        long[] queueNanos = QUEUE_NANOS.get();
+        long queue = queueNanos[0];
+        queueNanos[0] = 0;
+        Holder.commit(event, taskModel, queue, failure);
+    }
+
+    /**
+     * 运行环境是否有JFR(jdk.jfr)
+     */
+    public static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, TaskEvents.class.getClassLoader());
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 事件中的方法名称:类名#方法名
+     *
+     * @param method 方法
+     * @return 方法名称
+     */
+    public static String methodName(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName();
+    }
+
+    /**
+     * 方法名称:类名#方法名,lambda封装的任务为lambda类名
+     */
+    private static String methodName(TaskModel<?> taskModel) {
+        Method method = taskModel.getMethod();
+        if (method != null) {
+            return methodName(method);
+        }
+        if (taskModel.getInvoker() == null) {
+            return null;
+        }
+        // lambda类名去掉运行时生成的地址后缀
+        String name = taskModel.getInvoker().getTargetType().getName();
+        int hiddenSuffix = name.indexOf('/');
+        return hiddenSuffix < 0 ? name : name.substring(0, hiddenSuffix);
+    }
+
+    /**
+     * 失败原因:展开包装异常,返回方法本身抛出的异常类型
+     */
+    private static Class<?> causeType(Throwable failure) {
+        Throwable cause = failure.getCause();
+        if (cause instanceof InvocationTargetException && ((InvocationTargetException) cause).getTargetException() != null) {
+            return ((InvocationTargetException) cause).getTargetException().getClass();
+        }
+        return failure.getClass();
+    }
+
+    /**
+     * 引用JFR类型的逻辑(只在JFR可用时加载)
+     */
+    private static final class Holder {
+        private static final EventType EXECUTION = EventType.getEventType(TaskExecutionEvent.class);
+
+        private static boolean isEnabled() {
+            return EXECUTION.isEnabled();
+        }
+
+        private static Object begin() {
+            TaskExecutionEvent event = new TaskExecutionEvent();
+            event.begin();
+            return event;
+        }
+
+        private static void commit(Object e, TaskModel<?> taskModel, long queueNanos, Throwable failure) {
+            TaskExecutionEvent event = (TaskExecutionEvent) e;
+            event.end();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.method = methodName(taskModel);
+            event.queueTime = queueNanos;
+            event.success = failure == null;
+            if (failure != null) {
+                event.failureCode = TaskFailureCode.of(failure).name();
+                event.causeType = causeType(failure);
+            }
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.feng.module.task.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 任务执行的JFR事件(持续时间为方法执行时间)
+ */
+@Name("com.feng.task.Execution")
+@Label("Task Execution")
+@Category({"Feng", "Task"})
+@Description("Execution of a TaskModel method")
+@StackTrace(false)
+final class TaskExecutionEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Failure Code")
+    String failureCode;
+
+    @Label("Cause Type")
+    Class<?> causeType;
+}
@@ -0,0 +1,129 @@
+package com.feng.module.task.metrics;
+
+import com.feng.module.task.model.TaskModel;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 任务执行统计
+ * 按方法(以及调用方自定义的key,例如绑定任务)统计执行次数、失败次数和耗时分布
+ * 默认关闭,通过启动参数-Dfeng.task.metrics.enabled=true或{@link #setEnabled(boolean)}开启;关闭时只有一次volatile读
+ */
+public final class TaskMetrics {
+
+    /**
+     * 是否开启统计
+     */
+    public static final String ENABLED_PROPERTY = "feng.task.metrics.enabled";
+
+    private volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    /**
+     * 方法(lambda封装的任务为lambda类型) -> 统计
+     */
+    private final ConcurrentMap<Object, TaskTimer> taskTimers = new ConcurrentHashMap<>();
+    /**
+     * 名称 -> 统计
+     */
+    private final ConcurrentMap<String, TaskTimer> timers = new ConcurrentHashMap<>();
+    private final List<Consumer<TaskTimer>> listeners = new CopyOnWriteArrayList<>();
+
+    // 私有化
+    private TaskMetrics() {
+    }
+
+    /**
+     * 构建单例实例
+     */
+    private static class GenSingleton {
+        //静态常量：类加载时初始化，仅一次
+        private static final TaskMetrics INSTANCE = new TaskMetrics();
+    }
+
+    /**
+     * 获取单例实例
+     *
+     * @return TaskMetrics
+     */
+    public static TaskMetrics getInstance() {
+        return GenSingleton.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 获取(或创建)指定名称的统计
+     *
+     * @param name 名称 例如:binding:service/module/function
+     * @return TaskTimer
+     */
+    public TaskTimer timer(String name) {
+        TaskTimer timer = timers.get(name);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(name, this::newTimer);
+        }
+        return timer;
+    }
+
+    /**
+     * 获取(或创建)任务方法的统计,名称为method:类名#方法名
+     *
+     * @param taskModel 任务模型
+     * @return TaskTimer
+     */
+    public TaskTimer timer(TaskModel<?> taskModel) {
+        Object key = taskModel.getMethod() != null ? taskModel.getMethod()
+                : taskModel.getInvoker() != null ? taskModel.getInvoker().getTargetType() : TaskModel.class;
+        TaskTimer timer = taskTimers.get(key);
+        if (timer == null) {
+            timer = taskTimers.computeIfAbsent(key, k -> timer(methodName(k)));
+        }
+        return timer;
+    }
+
+    /**
+     * 所有统计
+     */
+    public Collection<TaskTimer> getTimers() {
+        return Collections.unmodifiableCollection(timers.values());
+    }
+
+    /**
+     * 注册统计创建监听(已有的统计也会回调),用于桥接到其他监控系统
+     *
+     * @param listener 监听
+     */
+    public void addListener(Consumer<TaskTimer> listener) {
+        listeners.add(listener);
+        timers.values().forEach(listener);
+    }
+
+    private TaskTimer newTimer(String name) {
+        TaskTimer timer = new TaskTimer(name);
+        listeners.forEach(listener -> listener.accept(timer));
+        return timer;
+    }
+
+    private static String methodName(Object key) {
+        if (key instanceof Method) {
+            Method method = (Method) key;
+            return "method:" + method.getDeclaringClass().getName() + "#" + method.getName();
+        }
+        // lambda类名去掉运行时生成的地址后缀 例如:Foo$$Lambda$12/0x0000000800c0b000
+        String name = ((Class<?>) key).getName();
+        int hiddenSuffix = name.indexOf('/');
+        return "method:" + (hiddenSuffix < 0 ? name : name.substring(0, hiddenSuffix));
+    }
+}
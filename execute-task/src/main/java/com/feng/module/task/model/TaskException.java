@@ -0,0 +1,50 @@
+package com.feng.module.task.model;
+
+import com.feng.module.task.invoker.TaskInvokers;
+
+/**
+ * 不记录堆栈的任务异常
+ * 精简失败模式下代替包装异常、超时、拒绝和取消异常:只记录失败类型、信息和原因,不生成堆栈
+ * 超时、拒绝和取消使用预先创建的共享实例,依赖故障导致大量任务失败时不会产生额外的分配和堆栈采集
+ * 默认关闭,通过启动参数-Dfeng.task.failure.compact=true或{@link #setCompact(boolean)}开启
+ */
+public class TaskException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 是否开启精简失败模式
+     */
+    public static final String COMPACT_PROPERTY = "feng.task.failure.compact";
+
+    public static final TaskException TIMEOUT = new TaskException(TaskFailureCode.TIMEOUT, "[Execute-Task] Task execution timed out.", null);
+    public static final TaskException REJECTED = new TaskException(TaskFailureCode.REJECTED, "[Execute-Task] Task rejected by thread pool.", null);
+    public static final TaskException CANCELLED = new TaskException(TaskFailureCode.CANCELLED, "[Execute-Task] Task cancelled.", null);
+
+    private static volatile boolean compact = Boolean.getBoolean(COMPACT_PROPERTY);
+
+    private final TaskFailureCode failureCode;
+
+    public TaskException(TaskFailureCode failureCode, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.failureCode = failureCode;
+    }
+
+    public TaskFailureCode getFailureCode() {
+        return failureCode;
+    }
+
+    public static boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * 开启或关闭精简失败模式(同时影响方法调用器包装业务异常时是否记录堆栈)
+     *
+     * @param compact 是否开启
+     */
+    public static void setCompact(boolean compact) {
+        TaskException.compact = compact;
+        TaskInvokers.setStacklessFailures(compact);
+    }
+}
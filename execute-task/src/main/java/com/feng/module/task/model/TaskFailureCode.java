@@ -0,0 +1,64 @@
+package com.feng.module.task.model;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 任务失败类型
+ */
+public enum TaskFailureCode {
+    /**
+     * 方法本身抛出的业务异常
+     */
+    BUSINESS,
+    /**
+     * 参数或方法校验失败
+     */
+    ARGUMENT,
+    /**
+     * 执行超时
+     */
+    TIMEOUT,
+    /**
+     * 线程池拒绝执行
+     */
+    REJECTED,
+    /**
+     * 被取消(完成策略、取消令牌、调用线程中断等)
+     */
+    CANCELLED,
+    /**
+     * 其他异常
+     */
+    UNKNOWN;
+
+    /**
+     * 根据异常判断失败类型
+     *
+     * @param exception 任务结果中的异常
+     * @return 失败类型
+     */
+    public static TaskFailureCode of(Throwable exception) {
+        if (exception instanceof TaskException) {
+            return ((TaskException) exception).getFailureCode();
+        }
+        if (exception instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        if (exception instanceof CancellationException) {
+            return CANCELLED;
+        }
+        if (exception instanceof RejectedExecutionException) {
+            return REJECTED;
+        }
+        if (exception instanceof IllegalArgumentException) {
+            return ARGUMENT;
+        }
+        if (exception != null && exception.getCause() instanceof InvocationTargetException) {
+            return BUSINESS;
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,55 @@
+package com.feng.module.task.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 依赖图任务的执行结果
+ */
+public class TaskGraphResult {
+    /**
+     * 任务id -> 任务结果(按添加顺序)
+     */
+    private final Map<String, TaskResult<?>> results;
+
+    private TaskGraphResult(Map<String, TaskResult<?>> results) {
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    public static TaskGraphResult init(String[] ids, TaskResult<?>[] results) {
+        Map<String, TaskResult<?>> map = new LinkedHashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], results[i]);
+        }
+        return new TaskGraphResult(map);
+    }
+
+    /**
+     * 获取任务结果
+     *
+     * @param id  任务id
+     * @param <R> 任务返回类型
+     * @return 任务结果,任务不存在返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <R> TaskResult<R> get(String id) {
+        return (TaskResult<R>) results.get(id);
+    }
+
+    /**
+     * 是否所有任务都执行成功
+     */
+    public boolean isSuccess() {
+        for (TaskResult<?> result : results.values()) {
+            if (!Boolean.TRUE.equals(result.success)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Map<String, TaskResult<?>> getResults() {
+        return results;
+    }
+}
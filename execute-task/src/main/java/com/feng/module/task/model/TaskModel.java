@@ -1,95 +1,308 @@
 package com.feng.module.task.model;
 
+import com.feng.module.task.invoker.TaskInvoker;
+import com.feng.module.task.invoker.TaskInvokers;
+import com.feng.module.task.jfr.TaskEvents;
+
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 public class TaskModel<R> {
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
     private final Object bean;
     private final Method method;
     private final Object[] args;
+    /**
+     * 已链接的方法调用器(校验失败时为null)
+     */
+    private final TaskInvoker invoker;
+    /**
+     * 校验失败信息(在执行时抛出)
+     */
+    private final String linkError;
+    /**
+     * {@link #execute()}的校验失败信息(初始化校验结果和参数个数,参数数组的长度不会变化,创建时校验一次)
+     */
+    private final String executeError;
+    /**
+     * 方法声明的参数个数(校验失败时为{@link TaskInvoker#ANY_PARAMETER_COUNT})
+     */
+    private final int parameterCount;
 
-    private TaskModel(Object bean, Method method, Object[] args) {
+    private TaskModel(Object bean, Method method, TaskInvoker invoker, String linkError, Object[] args) {
         this.bean = bean;
         this.method = method;
+        this.invoker = invoker;
+        this.linkError = linkError;
         this.args = args;
+        this.executeError = linkError != null ? linkError : paramCountError(invoker, args == null ? 0 : args.length);
+        this.parameterCount = invoker == null ? TaskInvoker.ANY_PARAMETER_COUNT : invoker.getParameterCount();
     }
 
+    /**
+     * 修改参数,生成新的任务模型(复用已链接的调用器,不再重复校验)
+     *
+     * @param args 执行参数
+     * @return 新任务模型
+     */
     public TaskModel<R> withArgs(Object... args) {
-        return init(bean, method, args);
+        return new TaskModel<R>(bean, method, invoker, linkError, args);
     }
 
+    @SuppressWarnings("unchecked")
     public R execute() {
-        return execute(bean, method, args);
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(args);
+        }
+        if (executeError != null) {
+            throw new IllegalArgumentException(executeError);
+        }
+        try {
+            return (R) invoker.invoke(args == null ? EMPTY_ARGS : args);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    /**
+     * 使用指定参数直接执行(不生成新的任务模型,不分配参数数组),用于反复执行同一个方法的场景
+     *
+     * @return 方法执行结果
+     */
+    @SuppressWarnings("unchecked")
+    public R executeWith() {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(EMPTY_ARGS);
+        }
+        checkFixedArity(0);
+        try {
+            return (R) invoker.invoke0();
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public R executeWith(Object arg1) {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(new Object[]{arg1});
+        }
+        checkFixedArity(1);
+        try {
+            return (R) invoker.invoke1(arg1);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public R executeWith(Object arg1, Object arg2) {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(new Object[]{arg1, arg2});
+        }
+        checkFixedArity(2);
+        try {
+            return (R) invoker.invoke2(arg1, arg2);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public R executeWith(Object arg1, Object arg2, Object arg3) {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(new Object[]{arg1, arg2, arg3});
+        }
+        checkFixedArity(3);
+        try {
+            return (R) invoker.invoke3(arg1, arg2, arg3);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public R executeWith(Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(new Object[]{arg1, arg2, arg3, arg4});
+        }
+        checkFixedArity(4);
+        try {
+            return (R) invoker.invoke4(arg1, arg2, arg3, arg4);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public R executeWith(Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        if (TaskEvents.isExecutionEnabled()) {
+            return executeRecorded(new Object[]{arg1, arg2, arg3, arg4, arg5});
+        }
+        checkFixedArity(5);
+        try {
+            return (R) invoker.invoke5(arg1, arg2, arg3, arg4, arg5);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
     }
 
     public static <R> TaskModel<R> init(Object bean, Method method, Object... args) {
-        return new TaskModel<R>(bean, method, args);
+        String linkError = validate(bean, method);
+        TaskInvoker invoker = linkError == null ? TaskInvokers.bind(bean, method) : null;
+        return new TaskModel<R>(bean, method, invoker, linkError, args);
     }
 
     public static <R> TaskModel<R> init(Object bean, Method method) {
         return init(bean, method, new Object[0]);
     }
 
+    /**
+     * 任务模型初始化: 通过已链接的调用器生成任务模型(bean和method为空)
+     *
+     * @param invoker 方法调用器
+     * @param args    执行参数
+     * @param <R>     返回值泛型类型
+     * @return 任务模型
+     */
+    public static <R> TaskModel<R> init(TaskInvoker invoker, Object... args) {
+        if (invoker == null) {
+            return new TaskModel<R>(null, null, null, "[Execute-Task] Bean Method cannot be empty.", args);
+        }
+        return new TaskModel<R>(null, null, invoker, null, args);
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public TaskInvoker getInvoker() {
+        return invoker;
+    }
 
     /**
-     * 通用反射执行方法
+     * 校验执行对象和方法(只在初始化时执行一次)
      *
      * @param bean   目标对象（静态方法传 null）
      * @param method 要执行的方法对象
-     * @param args   方法参数（无参传 null 或空数组）
-     * @param <R>    返回值泛型类型（需与方法实际返回类型一致）
-     * @return 方法执行结果
-     * @throws IllegalArgumentException 参数非法（bean/method 为空、参数不匹配等）
+     * @return 校验失败信息,校验通过返回null
      */
-    @SuppressWarnings("unchecked")
-    private static <R> R execute(Object bean, Method method, Object[] args) {
-        // 步骤 1：校验核心参数（bean 和 method 非空校验）
+    private static String validate(Object bean, Method method) {
         // method 必须非空
         if (method == null) {
-            throw new IllegalArgumentException("[Execute-Task] Bean Method cannot be empty.");
+            return "[Execute-Task] Bean Method cannot be empty.";
         }
         // 非静态方法：bean 必须非空（静态方法 bean 可传 null）
-        if (!method.getDeclaringClass().isAssignableFrom(bean.getClass()) && !java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
-            throw new IllegalArgumentException("[Execute-Task] The target object bean of a non-static method cannot be empty and must be an instance of the method declaring class.");
+        if (!java.lang.reflect.Modifier.isStatic(method.getModifiers())
+                && (bean == null || !method.getDeclaringClass().isAssignableFrom(bean.getClass()))) {
+            return "[Execute-Task] The target object bean of a non-static method cannot be empty and must be an instance of the method declaring class.";
+        }
+        return null;
+    }
+
+    /**
+     * 通用执行方法
+     *
+     * @param invoker   已链接的方法调用器
+     * @param linkError 初始化时的校验失败信息
+     * @param args      方法参数（无参传 null 或空数组）
+     * @param <R>       返回值泛型类型（需与方法实际返回类型一致）
+     * @return 方法执行结果
+     * @throws IllegalArgumentException 参数非法（bean/method 为空、参数不匹配等）
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R execute(TaskInvoker invoker, String linkError, Object[] args) {
+        // 步骤 1：初始化时的校验结果（bean 和 method 非空校验）
+        if (linkError != null) {
+            throw new IllegalArgumentException(linkError);
         }
         // 步骤 2：处理参数数组（null 转为空数组，避免 invoke 传 null 报错）
-        args = (args == null) ? new Object[0] : args;
+        args = (args == null) ? EMPTY_ARGS : args;
 
         // 步骤 3：校验参数数量匹配（避免参数个数不匹配异常）
-        validateParamCount(method, args);
+        validateParamCount(invoker, args);
 
-        // 步骤 4：设置方法可访问性（突破私有/保护方法的访问限制）
-        method.setAccessible(true);
+        // 步骤 4：执行方法（捕获并封装业务异常）
+        try {
+            return (R) invoker.invoke(args);
+        } catch (InvocationTargetException e) {
+            throw businessFailure(e);
+        }
+    }
 
-        // 步骤 5：执行方法（捕获并封装反射相关异常）
-        Object resultObj;
+    /**
+     * 执行并记录JFR事件(事件开启录制时使用)
+     */
+    private R executeRecorded(Object[] args) {
+        Object event = TaskEvents.beginExecution();
+        Throwable failure = null;
         try {
-            // 执行方法：静态方法 bean 传 null，实例方法 bean 为目标对象
-            return (R) method.invoke(bean, args);
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            if (e instanceof IllegalAccessException) {
-                throw new IllegalArgumentException(
-                        String.format(e.getMessage())
-                );
-            }
-            throw new RuntimeException("[Execute-Task] Method execution throws a business exception.", e);
+            return execute(invoker, linkError, args);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            TaskEvents.commitExecution(event, this, failure);
+        }
+    }
+
+    /**
+     * 包装方法本身抛出的业务异常(精简失败模式下不记录堆栈)
+     */
+    private static RuntimeException businessFailure(InvocationTargetException e) {
+        if (TaskException.isCompact()) {
+            return new TaskException(TaskFailureCode.BUSINESS, "[Execute-Task] Method execution throws a business exception.", e);
+        }
+        return new RuntimeException("[Execute-Task] Method execution throws a business exception.", e);
+    }
+
+    /**
+     * 固定参数个数执行前的校验(初始化校验结果和参数个数)
+     */
+    private void checkFixedArity(int actualParamCount) {
+        if (linkError != null) {
+            throw new IllegalArgumentException(linkError);
+        }
+        if (parameterCount != TaskInvoker.ANY_PARAMETER_COUNT && parameterCount != actualParamCount) {
+            validateParamCount(invoker, actualParamCount);
         }
     }
 
     /**
      * 校验参数数量：实际传入的参数个数必须与方法声明的参数个数一致
      */
-    private static void validateParamCount(Method method, Object[] actualArgs) {
-        int declaredParamCount = method.getParameterCount(); // 方法声明的参数个数
-        int actualParamCount = actualArgs.length; // 实际传入的参数个数
+    private static void validateParamCount(TaskInvoker invoker, Object[] actualArgs) {
+        validateParamCount(invoker, actualArgs.length);
+    }
 
-        if (declaredParamCount != actualParamCount) {
-            throw new IllegalArgumentException(
-                    String.format("[Execute-Task] argument count mismatch: method declared %d arguments, passed in %d.",
-                            declaredParamCount, actualParamCount)
-            );
+    private static void validateParamCount(TaskInvoker invoker, int actualParamCount) {
+        String error = paramCountError(invoker, actualParamCount);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
     }
 
+    /**
+     * 参数个数校验失败信息
+     *
+     * @return 参数个数与方法声明的参数个数不一致时返回失败信息,否则返回null
+     */
+    private static String paramCountError(TaskInvoker invoker, int actualParamCount) {
+        int declaredParamCount = invoker.getParameterCount(); // 方法声明的参数个数
 
+        if (declaredParamCount != TaskInvoker.ANY_PARAMETER_COUNT && declaredParamCount != actualParamCount) {
+            return String.format("[Execute-Task] argument count mismatch: method declared %d arguments, passed in %d.",
+                    declaredParamCount, actualParamCount);
+        }
+        return null;
+    }
 }
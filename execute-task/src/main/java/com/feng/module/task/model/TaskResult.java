@@ -1,5 +1,7 @@
 package com.feng.module.task.model;
 
+import java.lang.reflect.InvocationTargetException;
+
 public class TaskResult<T> {
     /**
      * 执行结果
@@ -13,22 +15,144 @@ public class TaskResult<T> {
      * 是否成功
      */
     public final Boolean success;
+    /**
+     * 执行次数(包括重试和对冲)
+     */
+    public final int attempts;
+    /**
+     * 结果是否来自对冲执行
+     */
+    public final boolean hedgeWin;
+    /**
+     * 提交时间(System.nanoTime,直接执行时为0)
+     */
+    public final long submitNanos;
+    /**
+     * 开始执行时间(System.nanoTime,未开始执行时为0)
+     */
+    public final long startNanos;
+    /**
+     * 完成时间(System.nanoTime,直接执行时为0)
+     */
+    public final long endNanos;
 
-    private TaskResult(T result, Exception exception, Boolean success) {
+    private TaskResult(T result, Exception exception, Boolean success, int attempts, boolean hedgeWin,
+                       long submitNanos, long startNanos, long endNanos) {
         this.result = result;
         this.exception = exception;
         this.success = success;
+        this.attempts = attempts;
+        this.hedgeWin = hedgeWin;
+        this.submitNanos = submitNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
     }
 
     public static <T> TaskResult<T> fail(T result, Exception exception) {
-        return new TaskResult<>(result, exception, false);
+        return new TaskResult<>(result, exception, false, 1, false, 0, 0, 0);
     }
 
     public static <T> TaskResult<T> success(T result) {
-        return new TaskResult<>(result, null, true);
+        return new TaskResult<>(result, null, true, 1, false, 0, 0, 0);
+    }
+
+    /**
+     * 失败结果(记录执行时间)
+     *
+     * @param result      执行结果
+     * @param exception   异常
+     * @param submitNanos 提交时间
+     * @param startNanos  开始执行时间(未开始执行传0)
+     * @param endNanos    完成时间
+     * @return 结果对象
+     */
+    public static <T> TaskResult<T> fail(T result, Exception exception, long submitNanos, long startNanos, long endNanos) {
+        return new TaskResult<>(result, exception, false, 1, false, submitNanos, startNanos, endNanos);
+    }
+
+    /**
+     * 成功结果(记录执行时间)
+     *
+     * @param result      执行结果
+     * @param submitNanos 提交时间
+     * @param startNanos  开始执行时间
+     * @param endNanos    完成时间
+     * @return 结果对象
+     */
+    public static <T> TaskResult<T> success(T result, long submitNanos, long startNanos, long endNanos) {
+        return new TaskResult<>(result, null, true, 1, false, submitNanos, startNanos, endNanos);
+    }
+
+    /**
+     * 记录执行次数,生成新的结果
+     *
+     * @param attempts 执行次数
+     * @param hedgeWin 结果是否来自对冲执行
+     * @return 新结果对象
+     */
+    public TaskResult<T> withAttempts(int attempts, boolean hedgeWin) {
+        return new TaskResult<>(result, exception, success, attempts, hedgeWin, submitNanos, startNanos, endNanos);
     }
 
     public T getResult() {
         return result;
     }
+
+    /**
+     * 排队等待时间(纳秒,未开始执行时为提交到完成的时间)
+     */
+    public long getQueueNanos() {
+        return (startNanos != 0 ? startNanos : endNanos) - submitNanos;
+    }
+
+    /**
+     * 执行时间(纳秒,未开始执行时为0)
+     */
+    public long getExecuteNanos() {
+        return startNanos != 0 ? endNanos - startNanos : 0;
+    }
+
+    /**
+     * 失败类型
+     *
+     * @return 失败类型,成功返回null
+     */
+    public TaskFailureCode getFailureCode() {
+        return Boolean.TRUE.equals(success) ? null : TaskFailureCode.of(exception);
+    }
+
+    /**
+     * 失败原因的异常类型(业务异常为方法本身抛出的异常类型)
+     *
+     * @return 异常类型,成功返回null
+     */
+    public Class<? extends Throwable> getCauseType() {
+        Throwable cause = getCause();
+        return cause == null ? null : cause.getClass();
+    }
+
+    /**
+     * 失败信息(业务异常为方法本身抛出的异常信息)
+     *
+     * @return 失败信息,成功返回null
+     */
+    public String getMessage() {
+        Throwable cause = getCause();
+        return cause == null ? null : cause.getMessage();
+    }
+
+    /**
+     * 失败原因:业务异常展开包装异常,返回方法本身抛出的异常
+     */
+    private Throwable getCause() {
+        if (Boolean.TRUE.equals(success) || exception == null) {
+            return null;
+        }
+        Throwable cause = exception.getCause();
+        if (cause instanceof InvocationTargetException) {
+            Throwable target = ((InvocationTargetException) cause).getTargetException();
+            return target != null ? target : cause;
+        }
+        return exception;
+    }
 }
@@ -0,0 +1,340 @@
+package com.feng.module.task.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 哈希时间轮定时器
+ * 所有定时任务共用一个线程,新增和取消都是O(1),适合大量短时定时任务(如任务超时)
+ * 到期任务在时间轮线程中执行,执行逻辑应尽量简短
+ */
+public class HashedWheelTimer {
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_STOPPED = 2;
+    private static final AtomicIntegerFieldUpdater<HashedWheelTimer> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimer.class, "state");
+
+    /**
+     * 每个tick最多转移的新任务数,避免新增任务过多时时间轮线程无法推进
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Thread workerThread;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private volatile int state = STATE_INIT;
+    private volatile long startTime;
+    /**
+     * 当前tick(仅时间轮线程访问)
+     */
+    private long tick;
+
+    /**
+     * 构造方法
+     *
+     * @param threadName    时间轮线程名
+     * @param tickDuration  每个tick的时长
+     * @param unit          时间单位
+     * @param ticksPerWheel 时间轮的格数(向上取2的幂)
+     */
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("[Execute-Task] tickDuration and ticksPerWheel must be greater than 0.");
+        }
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.workerThread = new Thread(this::work, threadName);
+        this.workerThread.setDaemon(true);
+    }
+
+    /**
+     * 构建单例实例
+     */
+    private static class GenSingleton {
+        //静态常量：类加载时初始化，仅一次
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer("task-wheel-timer", 10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * 获取共享的时间轮实例(10ms一个tick)
+     *
+     * @return HashedWheelTimer
+     */
+    public static HashedWheelTimer getInstance() {
+        return GenSingleton.INSTANCE;
+    }
+
+    /**
+     * 新增定时任务
+     *
+     * @param task  到期执行的任务
+     * @param delay 延迟时间
+     * @param unit  时间单位
+     * @return 定时任务句柄
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("[Execute-Task] Timer task cannot be empty.");
+        }
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        // 防止溢出
+        if (delay > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 获取未到期的定时任务数
+     *
+     * @return 定时任务数
+     */
+    public long pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 当前线程是否为时间轮线程(到期任务在该线程中执行)
+     *
+     * @return 是否为时间轮线程
+     */
+    public boolean isWorkerThread() {
+        return Thread.currentThread() == workerThread;
+    }
+
+    /**
+     * 停止时间轮,未到期的任务不再执行
+     */
+    public void stop() {
+        if (STATE_UPDATER.getAndSet(this, STATE_STOPPED) == STATE_STARTED) {
+            LockSupport.unpark(workerThread);
+        }
+    }
+
+    private void start() {
+        switch (state) {
+            case STATE_INIT:
+                if (STATE_UPDATER.compareAndSet(this, STATE_INIT, STATE_STARTED)) {
+                    workerThread.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("[Execute-Task] Timer has been stopped.");
+        }
+        // 等待时间轮线程初始化起始时间
+        while (startTime == 0) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 时间轮线程主循环
+     */
+    private void work() {
+        long now = System.nanoTime();
+        startTime = now == 0 ? 1 : now;
+        while (state == STATE_STARTED) {
+            long deadline = waitForNextTick();
+            if (deadline > 0) {
+                removeCancelled();
+                transferPending();
+                wheel[(int) (tick & mask)].expire(deadline);
+                tick++;
+            }
+        }
+    }
+
+    /**
+     * 等待下一个tick
+     *
+     * @return 当前时间(相对起始时间),时间轮停止返回-1
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (; ; ) {
+            long current = System.nanoTime() - startTime;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current == Long.MIN_VALUE ? Long.MAX_VALUE : current;
+            }
+            if (state != STATE_STARTED) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的任务放到当前tick执行
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        for (; ; ) {
+            WheelTimeout timeout = cancelledTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * 定时任务
+     */
+    private static final class WheelTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // 以下字段仅时间轮线程访问
+        private long remainingRounds;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingCount.decrementAndGet();
+            // 由时间轮线程从桶中移除(未转移到桶中的任务在转移时跳过)
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable ignored) {
+                // 任务异常不能影响时间轮线程
+            }
+        }
+    }
+
+    /**
+     * 时间轮的一格(双向链表,仅时间轮线程访问)
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline) {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    if (timeout.deadline <= deadline) {
+                        remove(timeout);
+                        timeout.expire();
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.feng.module.task.timer;
+
+/**
+ * 定时任务句柄
+ */
+public interface Timeout {
+
+    /**
+     * 取消定时任务(O(1),由时间轮线程异步移除)
+     *
+     * @return 是否取消成功(已到期或已取消返回false)
+     */
+    boolean cancel();
+
+    /**
+     * 是否已取消
+     */
+    boolean isCancelled();
+
+    /**
+     * 是否已到期执行
+     */
+    boolean isExpired();
+}
@@ -0,0 +1,162 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskFailureCode;
+import com.feng.module.task.model.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskAdmissionExecutorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ExecutorService threadPool;
+
+    @BeforeEach
+    void setUp() {
+        threadPool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    void overloadStartsOnlyAfterFullIntervalAboveTarget() {
+        TaskAdmissionExecutor executor = TaskAdmissionExecutor.init(threadPool, 10, 100, TimeUnit.MILLISECONDS);
+        // 第一个任务在创建后50ms开始执行:统计周期从第一个任务开始,创建后的启动耗时不计入
+        long base = System.nanoTime() + 50 * MS;
+
+        // 周期内排队时间一直超过目标,周期结束前不进入过载(包括创建后100ms)
+        assertFalse(executor.onDequeue(15 * MS, base));
+        assertFalse(executor.onDequeue(15 * MS, base + 60 * MS));
+        assertFalse(executor.onDequeue(15 * MS, base + 99 * MS));
+        assertFalse(executor.isOverloaded());
+
+        // 周期结束:最小排队时间超过目标,进入过载
+        assertFalse(executor.onDequeue(15 * MS, base + 100 * MS));
+        assertTrue(executor.isOverloaded());
+    }
+
+    @Test
+    void dropsFollowControlLawSpacing() {
+        TaskAdmissionExecutor executor = TaskAdmissionExecutor.init(threadPool, 10, 100, TimeUnit.MILLISECONDS);
+        long start = overload(executor);
+
+        // 进入过载后第一个提交即被拒绝,同一时间点只拒绝一次
+        assertTrue(executor.shouldDrop(start));
+        assertFalse(executor.shouldDrop(start));
+        // 第1次拒绝后间隔interval/√1,第2次后间隔interval/√2
+        assertFalse(executor.shouldDrop(start + 99 * MS));
+        assertTrue(executor.shouldDrop(start + 100 * MS));
+        assertFalse(executor.shouldDrop(start + 170 * MS));
+        assertTrue(executor.shouldDrop(start + 171 * MS));
+        // 第3次后间隔interval/√3
+        assertFalse(executor.shouldDrop(start + 228 * MS));
+        assertTrue(executor.shouldDrop(start + 229 * MS));
+    }
+
+    @Test
+    void overloadEndsWhenOneTaskIsBelowTargetAndReusesDropCount() {
+        TaskAdmissionExecutor executor = TaskAdmissionExecutor.init(threadPool, 10, 100, TimeUnit.MILLISECONDS);
+        long overloadStart = overload(executor);
+        long base = overloadStart - 100 * MS;
+        assertTrue(executor.shouldDrop(overloadStart));
+        assertTrue(executor.shouldDrop(overloadStart + 100 * MS));
+        assertTrue(executor.shouldDrop(overloadStart + 171 * MS));
+
+        // 过载时排队时间超过目标2倍的任务被丢弃,未超过的正常执行
+        assertTrue(executor.onDequeue(25 * MS, base + 120 * MS));
+        assertFalse(executor.onDequeue(15 * MS, base + 125 * MS));
+        // 一个任务的排队时间低于目标,立即退出过载,之后不再丢弃
+        assertFalse(executor.onDequeue(5 * MS, base + 130 * MS));
+        assertFalse(executor.isOverloaded());
+        assertFalse(executor.onDequeue(25 * MS, base + 140 * MS));
+
+        // 下一个周期的最小排队时间(5ms)低于目标,不进入过载
+        executor.onDequeue(15 * MS, base + 200 * MS);
+        assertFalse(executor.isOverloaded());
+        executor.onDequeue(15 * MS, base + 250 * MS);
+
+        // 不久后再次过载:沿用上次的拒绝次数(3次减2),第一次拒绝后按interval/√2间隔拒绝
+        long reenter = base + 300 * MS;
+        executor.onDequeue(15 * MS, reenter);
+        assertTrue(executor.isOverloaded());
+        assertTrue(executor.shouldDrop(reenter));
+        assertFalse(executor.shouldDrop(reenter + 70 * MS));
+        assertTrue(executor.shouldDrop(reenter + 71 * MS));
+    }
+
+    @Test
+    void overloadedExecutorReturnsRejectedResultsAndRecovers() throws Exception {
+        // 目标100ms,周期5s:进入过载的时间设在5s前,实际执行的任务排队时间远低于目标,结果不受执行耗时影响
+        TaskAdmissionExecutor executor = TaskAdmissionExecutor.init(threadPool, 100, 5000, TimeUnit.MILLISECONDS);
+        long base = System.nanoTime() - 7500 * MS;
+        executor.onDequeue(150 * MS, base);
+        executor.onDequeue(150 * MS, base + 5000 * MS);
+        assertTrue(executor.isOverloaded());
+
+        // 过载时提交的任务被拒绝,结果为REJECTED失败
+        TaskResult<Integer> shed = TaskExecutor.executeTasks(Collections.singletonList(TaskExecutor.init(() -> 1)), executor).get(0);
+        assertFalse(shed.success);
+        assertEquals(TaskFailureCode.REJECTED, shed.getFailureCode());
+
+        // 唯一的线程被占用,排队超过目标2倍的任务在开始执行前以REJECTED失败结束
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        threadPool.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicBoolean executed = new AtomicBoolean();
+        TaskRun<Integer> queued = new TaskRun<>(TaskExecutor.init(() -> {
+            executed.set(true);
+            return 2;
+        }));
+        executor.execute(queued);
+        Thread.sleep(250);
+        release.countDown();
+        TaskResult<Integer> dropped = queued.future().get(5, TimeUnit.SECONDS);
+        assertFalse(dropped.success);
+        assertEquals(TaskFailureCode.REJECTED, dropped.getFailureCode());
+        assertFalse(executed.get());
+        assertEquals(2, executor.getShedCount());
+        assertTrue(executor.isOverloaded());
+
+        // 排队时间低于目标的任务结束过载
+        TaskResult<Integer> result = TaskExecutor.executeTasks(Collections.singletonList(TaskExecutor.init(() -> 3)), executor).get(0);
+        assertTrue(result.success);
+        assertFalse(executor.isOverloaded());
+        assertEquals(2, executor.getShedCount());
+    }
+
+    /**
+     * 排队时间持续超过目标一个完整周期,使执行器进入过载(目标10ms,周期100ms)
+     *
+     * @return 进入过载的时间(第一次拒绝的时间)
+     */
+    private static long overload(TaskAdmissionExecutor executor) {
+        long base = System.nanoTime() + 100 * MS;
+        executor.onDequeue(15 * MS, base);
+        executor.onDequeue(15 * MS, base + 100 * MS);
+        assertTrue(executor.isOverloaded());
+        return base + 100 * MS;
+    }
+}
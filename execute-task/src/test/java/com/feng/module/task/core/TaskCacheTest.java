@@ -0,0 +1,141 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.cache.TaskCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        AtomicInteger executions = new AtomicInteger();
+        TaskPackWith1Args<String, String> upper = value -> {
+            executions.incrementAndGet();
+            return value.toUpperCase();
+        };
+        // 最大缓存数量为1:只有一个分段,写入新的key淘汰最久未访问的key
+        TaskGenerate<String> task = TaskGenerate.init(upper).withCache(TaskCache.init(1, 0, TimeUnit.MILLISECONDS));
+
+        assertEquals("A", task.execute("a"));
+        assertEquals("A", task.execute("a"));
+        assertEquals(1, executions.get());
+        assertEquals("B", task.execute("b"));
+        assertEquals("B", task.execute("b"));
+        assertEquals(2, executions.get());
+        assertEquals("A", task.execute("a"));
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        TaskPackWith1Args<Integer, String> length = value -> {
+            executions.incrementAndGet();
+            return value.length();
+        };
+        TaskGenerate<Integer> task = TaskGenerate.init(length).withCache(TaskCache.init(16, 200, TimeUnit.MILLISECONDS));
+
+        assertEquals(3, task.execute("abc"));
+        assertEquals(3, task.execute("abc"));
+        assertEquals(1, executions.get());
+        Thread.sleep(250);
+        assertEquals(3, task.execute("abc"));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void singleFlightSharesResultOfConcurrentExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskPackWith1Args<String, String> slow = value -> {
+            executions.incrementAndGet();
+            started.countDown();
+            release.await();
+            return value + executions.get();
+        };
+        TaskGenerate<String> task = TaskGenerate.init(slow).withCache(TaskCache.singleFlight());
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> task.execute("key"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicReference<String> follower = new AtomicReference<>();
+        Thread waiter = new Thread(() -> follower.set(task.execute("key")));
+        waiter.start();
+        awaitWaiting(waiter);
+        release.countDown();
+        waiter.join(5000);
+
+        assertEquals("key1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("key1", follower.get());
+        assertEquals(1, executions.get());
+        // 只合并并发执行,不缓存结果
+        assertEquals("key2", task.execute("key"));
+    }
+
+    @Test
+    void singleFlightSharesExceptionAndDoesNotCacheFailure() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskPackWith1Args<String, String> failing = value -> {
+            if (executions.incrementAndGet() == 1) {
+                started.countDown();
+                release.await();
+                throw new IllegalStateException("failed " + value);
+            }
+            return value;
+        };
+        TaskGenerate<String> task = TaskGenerate.init(failing).withCache(TaskCache.init(16, 0, TimeUnit.MILLISECONDS, true));
+
+        AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        Thread leader = new Thread(() -> {
+            try {
+                task.execute("key");
+            } catch (Throwable e) {
+                leaderFailure.set(e);
+            }
+        });
+        leader.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicReference<Throwable> followerFailure = new AtomicReference<>();
+        Thread follower = new Thread(() -> {
+            try {
+                task.execute("key");
+            } catch (Throwable e) {
+                followerFailure.set(e);
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertTrue(leaderFailure.get() instanceof RuntimeException);
+        assertSame(leaderFailure.get(), followerFailure.get());
+        assertEquals(1, executions.get());
+        // 失败不缓存,下一次重新执行
+        assertEquals("key", task.execute("key"));
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * 等待线程阻塞在执行中任务的结果上
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
@@ -0,0 +1,156 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskFailureCode;
+import com.feng.module.task.model.TaskGraphResult;
+import com.feng.module.task.model.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskGraphTest {
+
+    private ExecutorService threadPool;
+
+    @BeforeEach
+    void setUp() {
+        threadPool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    void passesResultsInDeclarationOrder() {
+        CountDownLatch secondDone = new CountDownLatch(1);
+        // first等待second完成:完成顺序与声明顺序相反
+        TaskPackWith2Args<String, String, Integer> join = (first, second) -> first + ":" + second;
+        TaskGraph graph = TaskGraph.builder()
+                .addTask("first", TaskExecutor.init(() -> {
+                    assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+                    return "a";
+                }))
+                .addTask("second", TaskExecutor.init(() -> {
+                    secondDone.countDown();
+                    return 2;
+                }))
+                .addTask("join", TaskGenerate.init(join), "first", "second")
+                .build();
+
+        TaskGraphResult result = graph.execute(threadPool);
+        assertTrue(result.isSuccess());
+        assertEquals("a:2", result.<String>get("join").getResult());
+        // 构建后的依赖图可以重复执行
+        assertEquals("a:2", graph.execute(threadPool).<String>get("join").getResult());
+    }
+
+    @Test
+    void failureSkipsDownstreamCascade() {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicBoolean downstreamExecuted = new AtomicBoolean();
+        TaskPackWith1Args<String, String> downstream = value -> {
+            downstreamExecuted.set(true);
+            return value;
+        };
+        TaskGraph.Builder builder = TaskGraph.builder()
+                .addTask("root", TaskExecutor.init(() -> {
+                    failed.countDown();
+                    throw new IllegalStateException("root failed");
+                }))
+                // 与失败任务无关的任务在失败之后完成,仍正常执行
+                .addTask("independent", TaskExecutor.init(() -> {
+                    assertTrue(failed.await(5, TimeUnit.SECONDS));
+                    return "ok";
+                }))
+                .addTask("child", TaskGenerate.init(downstream), "root");
+        // 长依赖链上的级联跳过不递归
+        String previous = "child";
+        for (int i = 0; i < 10_000; i++) {
+            String id = "chain-" + i;
+            builder.addTask(id, TaskGenerate.init(downstream), previous);
+            previous = id;
+        }
+
+        TaskGraphResult result = builder.build().execute(threadPool);
+        assertFalse(result.isSuccess());
+        assertEquals(TaskFailureCode.BUSINESS, result.get("root").getFailureCode());
+        assertEquals("ok", result.<String>get("independent").getResult());
+        TaskResult<String> child = result.get("child");
+        assertFalse(child.success);
+        assertEquals(TaskFailureCode.CANCELLED, child.getFailureCode());
+        assertEquals(TaskFailureCode.CANCELLED, result.get(previous).getFailureCode());
+        assertFalse(downstreamExecuted.get());
+    }
+
+    @Test
+    void rejectedTaskFailsAndSkipsDownstream() throws Exception {
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturated.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            TaskPackWith1Args<String, String> downstream = value -> value;
+            TaskGraph graph = TaskGraph.builder()
+                    .addTask("root", TaskExecutor.init(() -> "root"))
+                    .addTask("child", TaskGenerate.init(downstream), "root")
+                    .build();
+
+            TaskGraphResult result = graph.executeAsync(saturated).get(5, TimeUnit.SECONDS);
+            assertEquals(TaskFailureCode.REJECTED, result.get("root").getFailureCode());
+            assertEquals(TaskFailureCode.CANCELLED, result.get("child").getFailureCode());
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    void emptyGraphCompletesImmediately() {
+        TaskGraphResult result = TaskGraph.builder().build().execute(threadPool);
+        assertTrue(result.isSuccess());
+        assertTrue(result.getResults().isEmpty());
+    }
+
+    @Test
+    void buildRejectsUnknownDependencyCycleAndDuplicateId() {
+        TaskPackWith1Args<String, String> task = value -> value;
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () -> TaskGraph.builder()
+                .addTask("a", TaskGenerate.init(task), "missing")
+                .build());
+        assertTrue(unknown.getMessage().contains("unknown task 'missing'"));
+
+        IllegalArgumentException cycle = assertThrows(IllegalArgumentException.class, () -> TaskGraph.builder()
+                .addTask("root", TaskExecutor.init(() -> "root"))
+                .addTask("a", TaskGenerate.init(task), "c")
+                .addTask("b", TaskGenerate.init(task), "a")
+                .addTask("c", TaskGenerate.init(task), "b")
+                .build());
+        assertTrue(cycle.getMessage().contains("cycle among tasks [a, b, c]"));
+
+        assertThrows(IllegalArgumentException.class, () -> TaskGraph.builder()
+                .addTask("a", TaskExecutor.init(() -> "a"))
+                .addTask("a", TaskExecutor.init(() -> "b")));
+    }
+}
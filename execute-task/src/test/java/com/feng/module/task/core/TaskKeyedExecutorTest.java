@@ -0,0 +1,261 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskKeyedExecutorTest {
+
+    private ExecutorService threadPool;
+
+    @AfterEach
+    void tearDown() {
+        if (threadPool != null) {
+            threadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keepsPerKeyFifoOrderUnderManyConcurrentKeys() throws Exception {
+        threadPool = Executors.newFixedThreadPool(8);
+        TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+        int keys = 32;
+        // 超过单个key连续执行的最大任务数,覆盖重新提交到线程池的路径
+        int tasksPerKey = 500;
+        int[] lastSeen = new int[keys];
+        AtomicInteger[] running = new AtomicInteger[keys];
+        for (int k = 0; k < keys; k++) {
+            lastSeen[k] = -1;
+            running[k] = new AtomicInteger();
+        }
+        AtomicReference<String> violation = new AtomicReference<>();
+        CyclicBarrier barrier = new CyclicBarrier(keys);
+        List<List<CompletableFuture<TaskResult<Integer>>>> futures = new ArrayList<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int k = 0; k < keys; k++) {
+            int key = k;
+            List<CompletableFuture<TaskResult<Integer>>> keyFutures = new ArrayList<>(tasksPerKey);
+            futures.add(keyFutures);
+            Thread producer = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    violation.compareAndSet(null, e.toString());
+                    return;
+                }
+                for (int i = 0; i < tasksPerKey; i++) {
+                    int seq = i;
+                    keyFutures.add(keyedExecutor.submit(key, TaskExecutor.init(() -> {
+                        if (running[key].incrementAndGet() != 1) {
+                            violation.compareAndSet(null, "key " + key + " executed concurrently");
+                        }
+                        // 同一个key串行执行,lastSeen[key]只由当前执行的任务读写
+                        if (lastSeen[key] != seq - 1) {
+                            violation.compareAndSet(null, "key " + key + " expected " + (seq - 1) + " before " + seq + " but was " + lastSeen[key]);
+                        }
+                        lastSeen[key] = seq;
+                        running[key].decrementAndGet();
+                        return seq;
+                    })));
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (List<CompletableFuture<TaskResult<Integer>>> keyFutures : futures) {
+            assertEquals(tasksPerKey, keyFutures.size());
+            for (CompletableFuture<TaskResult<Integer>> future : keyFutures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS).success);
+            }
+        }
+        assertNull(violation.get());
+        for (int k = 0; k < keys; k++) {
+            assertEquals(tasksPerKey - 1, lastSeen[k]);
+        }
+        assertActiveKeysDrained(keyedExecutor);
+    }
+
+    @Test
+    void noLostTaskWhenQueueClosesWhileSubmitting() throws Exception {
+        threadPool = Executors.newFixedThreadPool(4);
+        TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+        int producers = 4;
+        int rounds = 2000;
+        AtomicInteger executed = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CyclicBarrier barrier = new CyclicBarrier(producers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            // 两个生产者共用一个key:一个任务完成关闭队列的同时,另一个生产者提交新任务
+            String key = "key-" + (p % 2);
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                    for (int i = 0; i < rounds; i++) {
+                        TaskResult<Integer> result = keyedExecutor.submit(key, TaskExecutor.init(executed::incrementAndGet))
+                                .get(5, TimeUnit.SECONDS);
+                        assertTrue(result.success);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals(producers * rounds, executed.get());
+        assertActiveKeysDrained(keyedExecutor);
+    }
+
+    @Test
+    void rejectionFailsEveryQueuedRun() throws Exception {
+        // 单线程且不排队:key队列占用唯一的线程后,重新提交一定被拒绝
+        threadPool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<TaskResult<Integer>>> futures = new ArrayList<>();
+        futures.add(keyedExecutor.submit("key", TaskExecutor.init(() -> {
+            started.countDown();
+            release.await();
+            return 0;
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        int queued = 100;
+        for (int i = 1; i <= queued; i++) {
+            int seq = i;
+            futures.add(keyedExecutor.submit("key", TaskExecutor.init(() -> seq)));
+        }
+        release.countDown();
+
+        // 连续执行64个任务后重新提交被拒绝,剩余的任务都以拒绝失败结束
+        int executed = 0;
+        int rejected = 0;
+        for (CompletableFuture<TaskResult<Integer>> future : futures) {
+            TaskResult<Integer> result = future.get(5, TimeUnit.SECONDS);
+            if (result.success) {
+                assertEquals(0, rejected, "tasks after a rejection must not run");
+                executed++;
+            } else {
+                assertInstanceOf(RejectedExecutionException.class, result.exception);
+                rejected++;
+            }
+        }
+        assertEquals(64, executed);
+        assertEquals(queued + 1 - 64, rejected);
+        assertActiveKeysDrained(keyedExecutor);
+    }
+
+    @Test
+    void rejectedFirstSubmitClosesQueue() throws Exception {
+        threadPool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        threadPool.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TaskResult<Integer> result = keyedExecutor.submit("key", TaskExecutor.init(() -> 1)).get(5, TimeUnit.SECONDS);
+        assertFalse(result.success);
+        assertInstanceOf(RejectedExecutionException.class, result.exception);
+        assertEquals(0, keyedExecutor.getActiveKeyCount());
+        release.countDown();
+    }
+
+    @Test
+    void callerRunsReschedulesHotKeyWithoutGrowingStack() throws Exception {
+        // 唯一的线程被占用,CallerRunsPolicy:每执行64个任务后的重新提交都在当前线程中执行
+        threadPool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+        TaskKeyedExecutor keyedExecutor = TaskKeyedExecutor.init(threadPool);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        threadPool.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        int backlog = 200_000;
+        AtomicInteger executed = new AtomicInteger();
+        List<CompletableFuture<TaskResult<Integer>>> futures = new ArrayList<>(backlog + 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // 第一个任务在提交线程中执行,执行时为同一个key提交大量任务,之后都在提交线程中连续执行
+        Thread producer = new Thread(null, () -> {
+            try {
+                futures.add(keyedExecutor.submit("hot", TaskExecutor.init(() -> {
+                    for (int i = 1; i <= backlog; i++) {
+                        int seq = i;
+                        futures.add(keyedExecutor.submit("hot", TaskExecutor.init(() -> {
+                            if (executed.incrementAndGet() != seq) {
+                                failure.compareAndSet(null, new AssertionError("out of order at " + seq));
+                            }
+                            return seq;
+                        })));
+                    }
+                    return 0;
+                })));
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        }, "hot-key-producer", 256 * 1024);
+        producer.start();
+        producer.join();
+        release.countDown();
+
+        assertNull(failure.get());
+        assertEquals(backlog, executed.get());
+        for (CompletableFuture<TaskResult<Integer>> future : futures) {
+            assertTrue(future.get(5, TimeUnit.SECONDS).success);
+        }
+        assertActiveKeysDrained(keyedExecutor);
+    }
+
+    /**
+     * 任务结果在队列移除前完成,等待队列从映射中移除
+     */
+    private static void assertActiveKeysDrained(TaskKeyedExecutor keyedExecutor) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (keyedExecutor.getActiveKeyCount() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, keyedExecutor.getActiveKeyCount());
+    }
+}
@@ -0,0 +1,39 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.invoker.TaskInvoker;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskPackInvokerTest {
+
+    @Test
+    void argumentTypeMismatchIsIllegalArgument() {
+        TaskPackWith2Args<Integer, String, Integer> taskPack = (value, times) -> value.length() * times;
+        TaskInvoker invoker = TaskPackInvoker.of(taskPack);
+
+        IllegalArgumentException direct = assertThrows(IllegalArgumentException.class, () -> invoker.invoke2("abc", "2"));
+        assertTrue(direct.getMessage().startsWith("[Execute-Task] argument type mismatch"));
+        assertInstanceOf(ClassCastException.class, direct.getCause());
+        IllegalArgumentException array = assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Object[]{1, 2}));
+        assertTrue(array.getMessage().startsWith("[Execute-Task] argument type mismatch"));
+    }
+
+    @Test
+    void businessExceptionIsInvocationFailure() throws Exception {
+        TaskPackWith1Args<Integer, String> taskPack = value -> {
+            throw new IllegalStateException(value);
+        };
+        TaskInvoker invoker = TaskPackInvoker.of(taskPack);
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> invoker.invoke1("failed"));
+        assertInstanceOf(IllegalStateException.class, e.getTargetException());
+        TaskPackWith1Args<Integer, String> length = String::length;
+        assertEquals(3, TaskPackInvoker.of(length).invoke1("abc"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.feng.module.task.core;
+
+import com.feng.module.task.model.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskRunTest {
+
+    /**
+     * 单线程池:被中断的任务和后续任务在同一个线程中执行
+     */
+    private ExecutorService threadPool;
+
+    @BeforeEach
+    void setUp() {
+        threadPool = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    void cancelBeforeRunSkipsTask() {
+        AtomicBoolean executed = new AtomicBoolean();
+        TaskRun<String> run = new TaskRun<>(TaskExecutor.init(() -> {
+            executed.set(true);
+            return "done";
+        }));
+        assertTrue(run.cancel(new CancellationException("cancelled"), true));
+        run.run();
+
+        TaskResult<String> result = run.future().join();
+        assertFalse(result.success);
+        assertInstanceOf(CancellationException.class, result.exception);
+        assertFalse(executed.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void cancelAfterCompletionFails() {
+        TaskRun<String> run = new TaskRun<>(TaskExecutor.init(() -> "done"));
+        run.run();
+        assertFalse(run.cancel(new CancellationException("cancelled"), true));
+        assertEquals("done", run.future().join().getResult());
+    }
+
+    @Test
+    void interruptClearedForNextPooledTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 任务忽略中断继续执行,中断标记留在线程上直到任务结束
+        TaskRun<String> run = new TaskRun<>(TaskExecutor.init(() -> {
+            started.countDown();
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return "ignored";
+        }));
+        threadPool.execute(run);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(run.cancel(new CancellationException("cancelled"), true));
+        release.countDown();
+
+        TaskResult<String> result = run.future().join();
+        assertFalse(result.success);
+        assertInstanceOf(CancellationException.class, result.exception);
+        assertFalse(threadPool.submit(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timeoutInterruptsAndClearsFlag() throws Exception {
+        List<TaskExecutor<String>> tasks = Collections.singletonList(TaskExecutor.init(() -> {
+            Thread.sleep(10_000);
+            return "slow";
+        }));
+        TaskResult<String> result = TaskExecutor.executeTasks(tasks, threadPool, 50, TimeUnit.MILLISECONDS).get(0);
+        assertFalse(result.success);
+        assertInstanceOf(TimeoutException.class, result.exception);
+        assertFalse(threadPool.submit(() -> Thread.currentThread().isInterrupted()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTokenStopsRetries() {
+        TaskCancellationToken token = TaskCancellationToken.create();
+        TaskRetryPolicy retryPolicy = TaskRetryPolicy.init(5, 1, 1, TimeUnit.SECONDS);
+        // 任务取消调用方令牌后失败,不应再按退避时间重试
+        TaskExecutor<String> task = TaskExecutor.init(() -> {
+            token.cancel();
+            throw new IllegalStateException("downstream failed");
+        });
+        long start = System.nanoTime();
+        TaskResult<String> result = token.call(() -> task.execute(threadPool, retryPolicy, null));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(result.success);
+        assertInstanceOf(CancellationException.class, result.exception);
+        assertEquals(1, result.attempts);
+    }
+}
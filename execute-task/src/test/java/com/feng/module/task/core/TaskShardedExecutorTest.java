@@ -0,0 +1,164 @@
+package com.feng.module.task.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskShardedExecutorTest {
+
+    private TaskShardedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void noLostWakeUpWithConcurrentSubmitters() throws Exception {
+        executor = TaskShardedExecutor.init(4);
+        int submitters = 16;
+        int rounds = 200;
+        CountDownLatch[] latches = new CountDownLatch[rounds];
+        for (int i = 0; i < rounds; i++) {
+            latches[i] = new CountDownLatch(submitters);
+        }
+        CyclicBarrier barrier = new CyclicBarrier(submitters + 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < submitters; s++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (CountDownLatch latch : latches) {
+                        barrier.await();
+                        executor.execute(latch::countDown);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        // 每轮开始前等待工作线程挂起,再由16个线程同时提交;遗漏唤醒时任务要等到挂起超时(100ms)才执行
+        int slowRounds = 0;
+        for (CountDownLatch latch : latches) {
+            Thread.sleep(2);
+            long start = System.nanoTime();
+            barrier.await(5, TimeUnit.SECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(50)) {
+                slowRounds++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        // 允许少量调度抖动,遗漏唤醒会使大量轮次超过挂起超时的一半
+        assertTrue(slowRounds <= rounds / 50, "slow rounds: " + slowRounds);
+    }
+
+    @Test
+    void rejectsWhenAllShardsAreFull() throws Exception {
+        executor = TaskShardedExecutor.init(2, 2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+                executed.incrementAndGet();
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // 两个工作线程都在执行中,两个队列共可容纳4个任务
+        for (int i = 0; i < 4; i++) {
+            executor.execute(executed::incrementAndGet);
+        }
+        assertEquals(4, executor.getQueueSize());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(executed::incrementAndGet));
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(6, executed.get());
+    }
+
+    @Test
+    void shutdownDrainsQueuedTasks() throws Exception {
+        executor = TaskShardedExecutor.init(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            executor.execute(executed::incrementAndGet);
+        }
+
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(executed::incrementAndGet));
+        release.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertEquals(10, executed.get());
+    }
+
+    @Test
+    void shutdownNowReturnsQueuedTasks() throws Exception {
+        executor = TaskShardedExecutor.init(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicInteger executed = new AtomicInteger();
+        List<Runnable> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Runnable task = executed::incrementAndGet;
+            queued.add(task);
+            executor.execute(task);
+        }
+
+        List<Runnable> remaining = executor.shutdownNow();
+        assertEquals(queued, remaining);
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+        assertEquals(0, executed.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
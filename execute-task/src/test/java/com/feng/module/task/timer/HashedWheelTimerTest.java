@@ -0,0 +1,113 @@
+package com.feng.module.task.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    /**
+     * 1ms一个tick,8格:一圈8ms,便于覆盖超过一圈的定时任务
+     */
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer("test-wheel-timer", 1, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void expiresInDeadlineOrder() throws InterruptedException {
+        Queue<Integer> order = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int delay : new int[]{40, 10, 30, 20}) {
+            timer.newTimeout(() -> {
+                order.add(delay);
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(10, 20, 30, 40), new ArrayList<>(order));
+        assertEquals(0, timer.pendingTimeouts());
+    }
+
+    @Test
+    void cancelBeforeExpiry() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean();
+        Timeout timeout = timer.newTimeout(() -> executed.set(true), 30, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.pendingTimeouts());
+
+        // 等待超过原定到期时间,确认被取消的任务没有执行
+        CountDownLatch later = new CountDownLatch(1);
+        timer.newTimeout(later::countDown, 60, TimeUnit.MILLISECONDS);
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertFalse(executed.get());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    void cancelAfterExpiry() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Timeout timeout = timer.newTimeout(latch::countDown, 5, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void timeoutLongerThanOneRotation() throws InterruptedException {
+        long start = System.nanoTime();
+        AtomicLong firedAfter = new AtomicLong();
+        CountDownLatch latch = new CountDownLatch(1);
+        // 50ms跨越6圈以上,落在与3ms任务相同的格子里,必须等剩余圈数减到0才执行
+        timer.newTimeout(() -> {
+            firedAfter.set(System.nanoTime() - start);
+            latch.countDown();
+        }, 51, TimeUnit.MILLISECONDS);
+        CountDownLatch early = new CountDownLatch(1);
+        timer.newTimeout(early::countDown, 3, TimeUnit.MILLISECONDS);
+
+        assertTrue(early.await(5, TimeUnit.SECONDS));
+        assertEquals(1, latch.getCount());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAfter.get() >= TimeUnit.MILLISECONDS.toNanos(51), "fired after " + firedAfter.get() + "ns");
+    }
+
+    @Test
+    void taskFailureDoesNotStopTimer() throws InterruptedException {
+        List<String> executed = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.newTimeout(() -> {
+            throw new IllegalStateException("expected");
+        }, 1, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> {
+            executed.add("next");
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executed.size());
+    }
+}